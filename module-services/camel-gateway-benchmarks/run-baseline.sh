@@ -0,0 +1,12 @@
+#!/usr/bin/env bash
+# Build the gateway and the benchmarks, run the full suite and store the results under baseline/
+set -euo pipefail
+cd "$(dirname "$0")"
+
+mvn -q -f ../camel-gateway install -DskipTests
+mvn -q package
+
+mkdir -p baseline
+result="baseline/baseline-$(date +%Y%m%d)-$(git rev-parse --short HEAD).json"
+java -jar target/benchmarks.jar -rf json -rff "$result" "$@"
+echo "Baseline written to $result"
@@ -0,0 +1,41 @@
+package com.playground.camel.benchmarks;
+
+import com.playground.camel.model.Claim;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim.addProcessingNote, measured per note over a claim's typical lifetime of notes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ClaimBenchmark {
+
+    // Roughly the number of notes a claim collects from submission to payment
+    private static final int NOTES_PER_CLAIM = 16;
+
+    @Benchmark
+    @OperationsPerInvocation(NOTES_PER_CLAIM)
+    public Claim addProcessingNote() {
+        // A fresh claim per invocation keeps the history from growing across iterations
+        Claim claim = ClaimFixtures.claim(1);
+        for (int i = 0; i < NOTES_PER_CLAIM; i++) {
+            claim.addProcessingNote("Status changed from RECEIVED to AWAITING_EMPLOYER: step " + i);
+        }
+        return claim;
+    }
+}
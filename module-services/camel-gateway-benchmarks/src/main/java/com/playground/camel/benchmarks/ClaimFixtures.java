@@ -0,0 +1,80 @@
+package com.playground.camel.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.playground.camel.model.Claim;
+import com.playground.camel.transformers.JsonCodecs;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representative payloads shared by the benchmarks
+ */
+final class ClaimFixtures {
+
+    static final String CLAIMANT_SERVICES_CLAIM = "{"
+        + "\"claimId\":\"CLM-2024-000123\","
+        + "\"userId\":\"user-98765\","
+        + "\"firstName\":\"Jordan\","
+        + "\"lastName\":\"Rivera\","
+        + "\"ssn\":\"123-45-6789\","
+        + "\"dateOfBirth\":\"1985-04-12\","
+        + "\"email\":\"jordan.rivera@example.com\","
+        + "\"phone\":\"555-0100\","
+        + "\"address\":{\"street\":\"100 Main St\",\"city\":\"Springfield\",\"state\":\"IL\",\"zipCode\":\"62701\"},"
+        + "\"employer\":{\"name\":\"Acme Manufacturing\",\"ein\":\"12-3456789\"},"
+        + "\"employmentDates\":{\"startDate\":\"2019-02-01\",\"endDate\":\"2024-01-15\"},"
+        + "\"separationReason\":\"LAYOFF\","
+        + "\"separationDetails\":\"Position eliminated during restructuring\","
+        + "\"wageData\":{\"lastQuarterEarnings\":\"12500.00\",\"annualEarnings\":\"52000.00\"},"
+        + "\"submissionTimestamp\":\"2024-01-20T14:32:10\""
+        + "}";
+
+    static final String PAYMENT_NOTES =
+        "Payment processed. WBA: $346.15, Max Benefit: $9000.00, First Payment: $316.15";
+
+    private ClaimFixtures() {
+    }
+
+    /**
+     * Mirrors the application's shared mapper (spring.jackson.serialization.write-dates-as-timestamps=false, Blackbird)
+     */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+            .findAndRegisterModules()
+            .registerModule(new BlackbirdModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static JsonCodecs jsonCodecs() {
+        return new JsonCodecs(objectMapper());
+    }
+
+    static Claim claim(int index) {
+        Claim claim = new Claim(String.format("CLM-2024-%06d", index), "claimant-services");
+        claim.setClaimantId("user-" + index);
+        claim.setFirstName("Jordan");
+        claim.setLastName("Rivera");
+        claim.setSsn("123-45-6789");
+        claim.setBirthDate(LocalDateTime.of(1985, 4, 12, 0, 0));
+        claim.setEmailAddress("jordan.rivera@example.com");
+        claim.setPhoneNumber("555-0100");
+        claim.setStreetAddress("100 Main St");
+        claim.setCity("Springfield");
+        claim.setState("IL");
+        claim.setPostalCode("62701");
+        claim.setEmployerName("Acme Manufacturing");
+        claim.setEmployerId("12-3456789");
+        claim.setEmploymentStartDate(LocalDateTime.of(2019, 2, 1, 0, 0));
+        claim.setEmploymentEndDate(LocalDateTime.of(2024, 1, 15, 0, 0));
+        claim.setSeparationReasonCode("LAYOFF");
+        claim.setSeparationExplanation("Position eliminated during restructuring");
+        claim.setBasePeriodQ4(new BigDecimal("12500.00"));
+        claim.setTotalAnnualEarnings(new BigDecimal("52000.00"));
+        claim.setSubmissionTimestamp(LocalDateTime.of(2024, 1, 20, 14, 32, 10));
+        claim.setCreatedBy("claimant-services");
+        return claim;
+    }
+}
@@ -0,0 +1,61 @@
+package com.playground.camel.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.playground.camel.model.Claim;
+import com.playground.camel.transformers.JsonCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson marshalling of List&lt;Claim&gt;, as done for the claims list endpoints
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ClaimMarshallingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int claimCount;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter claimListWriter;
+    private List<Claim> claims;
+
+    @Setup
+    public void setup() {
+        objectMapper = ClaimFixtures.objectMapper();
+        claimListWriter = new JsonCodecs(objectMapper).getClaimListWriter();
+        claims = new ArrayList<>(claimCount);
+        for (int i = 0; i < claimCount; i++) {
+            claims.add(ClaimFixtures.claim(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeClaimList() throws Exception {
+        return objectMapper.writeValueAsBytes(claims);
+    }
+
+    @Benchmark
+    public byte[] writeClaimListCachedWriter() throws Exception {
+        // JsonCodecs: writer with the List<Claim> serializer resolved once
+        return claimListWriter.writeValueAsBytes(claims);
+    }
+}
@@ -0,0 +1,161 @@
+package com.playground.camel.benchmarks;
+
+import com.playground.camel.model.Claim;
+import com.playground.camel.repository.ClaimRepository;
+import com.playground.camel.service.ClaimChangeTracker;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ClaimRepository work-queue, stale-claim and employer queries against a seeded claims table,
+ * with the Claim @Table indexes in place and dropped.
+ *
+ * Most seeded claims are closed (APPROVED/DENIED); 0.1% sit in each work queue and each employer
+ * has 500 claims, so the queries return few rows and the cost is finding them. Seeding 1M rows
+ * takes a while per trial; try -p rows=100000 for a quick run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ClaimQueryBenchmark {
+
+    private static final LocalDateTime SEED_START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String SEED_START_SQL = "2024-01-01 00:00:00";
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private ClaimRepository claimRepository;
+
+    @Setup
+    public void setup() throws SQLException {
+        context = new SpringApplicationBuilder(QueryBenchmarkConfig.class)
+            .web(WebApplicationType.NONE)
+            // As arguments, so they win over the gateway's application.properties on the classpath.
+            // H2 would otherwise hand a repeated query its previous result while the table is unchanged
+            .run("--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:claimquery;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        claimRepository = context.getBean(ClaimRepository.class);
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!indexed) {
+                for (Index index : Claim.class.getAnnotation(Table.class).indexes()) {
+                    statement.execute("DROP INDEX IF EXISTS " + index.name());
+                }
+            }
+            seed(statement);
+            statement.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * One INSERT ... SELECT over H2's SYSTEM_RANGE; claim X was received and last updated X seconds after SEED_START
+     */
+    private void seed(Statement statement) throws SQLException {
+        statement.executeUpdate("INSERT INTO claims (id, claim_reference_id, source_system, first_name, last_name, employer_id, "
+            + "status_code, workflow_stage, received_timestamp, last_updated, error_count) "
+            + "SELECT X, 'CLM-' || X, 'claimant-services', 'Jordan', 'Rivera', 'EMP-' || MOD(X, " + Math.max(1, rows / 500) + "), "
+            + "CASE MOD(X, 1000) WHEN 0 THEN 'RECEIVED' WHEN 1 THEN 'AWAITING_EMPLOYER' WHEN 2 THEN 'AWAITING_TAX_CALC' "
+            + "  ELSE CASE MOD(X, 2) WHEN 0 THEN 'APPROVED' ELSE 'DENIED' END END, "
+            + "CASE MOD(X, 1000) WHEN 0 THEN 'INITIAL' WHEN 1 THEN 'EMPLOYER_VERIFICATION' WHEN 2 THEN 'TAX_CALCULATION' "
+            + "  ELSE 'COMPLETED' END, "
+            + "DATEADD(SECOND, X, TIMESTAMP '" + SEED_START_SQL + "'), DATEADD(SECOND, X, TIMESTAMP '" + SEED_START_SQL + "'), 0 "
+            + "FROM SYSTEM_RANGE(1, " + rows + ")");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Claim> findByStatusCode() {
+        return claimRepository.findByStatusCode("RECEIVED");
+    }
+
+    @Benchmark
+    public List<Claim> findByWorkflowStage() {
+        return claimRepository.findByWorkflowStage("EMPLOYER_VERIFICATION");
+    }
+
+    @Benchmark
+    public List<Claim> findClaimsReadyForEmployerVerification() {
+        return claimRepository.findClaimsReadyForEmployerVerification();
+    }
+
+    @Benchmark
+    public List<Claim> findClaimsReadyForTaxCalculation() {
+        return claimRepository.findClaimsReadyForTaxCalculation();
+    }
+
+    @Benchmark
+    public List<Claim> findClaimsReadyForFinalReview() {
+        return claimRepository.findClaimsReadyForFinalReview();
+    }
+
+    @Benchmark
+    public List<Claim> findStaleClaims() {
+        // The oldest 0.1% of claims are past the cutoff
+        return claimRepository.findStaleClaims(SEED_START.plusSeconds(rows / 1000));
+    }
+
+    @Benchmark
+    public List<Claim> findByEmployerId() {
+        return claimRepository.findByEmployerId("EMP-7");
+    }
+
+    /**
+     * Just the JPA layer the repository needs: H2, Hibernate and Spring Data, without Camel or the web stack
+     */
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Claim.class)
+    @EnableJpaRepositories(basePackageClasses = ClaimRepository.class)
+    // Claim's entity listener is wired with the change tracker
+    @Import(ClaimChangeTracker.class)
+    static class QueryBenchmarkConfig {
+    }
+}
@@ -0,0 +1,63 @@
+package com.playground.camel.benchmarks;
+
+import com.playground.camel.model.Claim;
+import com.playground.camel.transformers.DataTransformer;
+import com.playground.camel.transformers.JsonCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim translation between the claimant-services format and the Claim entity.
+ * Run with -prof gc to compare allocation per claim of the tree and streaming parsers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DataTransformerBenchmark {
+
+    private DataTransformer dataTransformer;
+    private JsonCodecs jsonCodecs;
+    private Claim claim;
+
+    @Setup
+    public void setup() {
+        jsonCodecs = ClaimFixtures.jsonCodecs();
+        dataTransformer = new DataTransformer(jsonCodecs);
+        claim = ClaimFixtures.claim(1);
+    }
+
+    @Benchmark
+    public Claim transformClaimantServicesClaim() throws Exception {
+        return dataTransformer.transformClaimantServicesClaim(ClaimFixtures.CLAIMANT_SERVICES_CLAIM);
+    }
+
+    @Benchmark
+    public Claim parseClaimTree() throws Exception {
+        // claim.parser.mode=tree: JsonNode tree, then has()/get() per field
+        return dataTransformer.transformClaimantServicesClaim(jsonCodecs.getTreeReader().readTree(ClaimFixtures.CLAIMANT_SERVICES_CLAIM));
+    }
+
+    @Benchmark
+    public Claim parseClaimStreaming() throws Exception {
+        // claim.parser.mode=streaming: one pass over the parser tokens
+        return dataTransformer.parseClaimantServicesClaim(ClaimFixtures.CLAIMANT_SERVICES_CLAIM);
+    }
+
+    @Benchmark
+    public String transformClaimToClaimantServicesFormat() throws Exception {
+        return dataTransformer.transformClaimToClaimantServicesFormat(claim);
+    }
+}
@@ -0,0 +1,60 @@
+package com.playground.camel.benchmarks;
+
+import com.playground.camel.model.Claim;
+import com.playground.camel.service.ClaimService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The regex parse of payment amounts out of payment-service notes (ClaimService.parseAndStorePaymentAmounts)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PaymentNotesBenchmark {
+
+    // The method is private; a constant method handle lets the JIT inline it like a direct call
+    private static final MethodHandle PARSE_AND_STORE_PAYMENT_AMOUNTS;
+
+    static {
+        try {
+            PARSE_AND_STORE_PAYMENT_AMOUNTS = MethodHandles.privateLookupIn(ClaimService.class, MethodHandles.lookup())
+                .findVirtual(ClaimService.class, "parseAndStorePaymentAmounts",
+                    MethodType.methodType(void.class, Claim.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ClaimService claimService;
+    private Claim claim;
+
+    @Setup
+    public void setup() {
+        // Only the parsing is exercised, so the service needs none of its collaborators
+        claimService = new ClaimService();
+        claim = ClaimFixtures.claim(1);
+    }
+
+    @Benchmark
+    public Claim parseAndStorePaymentAmounts() throws Throwable {
+        PARSE_AND_STORE_PAYMENT_AMOUNTS.invokeExact(claimService, claim, ClaimFixtures.PAYMENT_NOTES);
+        return claim;
+    }
+}
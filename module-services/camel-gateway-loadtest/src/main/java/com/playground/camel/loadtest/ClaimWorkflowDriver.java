@@ -0,0 +1,226 @@
+package com.playground.camel.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop workload: starts claims at a fixed rate and walks each one through
+ * submit → advance (employer verification) → tax SOAP → payment update.
+ *
+ * End-to-end latency is measured from each claim's intended start time, so a
+ * stalled gateway shows up in the percentiles instead of silently lowering the
+ * offered load (coordinated omission).
+ */
+final class ClaimWorkflowDriver {
+
+    enum Stage { SUBMIT, ADVANCE, TAX_SOAP, PAYMENT, GRAPHQL, END_TO_END }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final String gatewayUrl;
+    private final LoadTestConfig config;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Stage, Recorder> recorders = new EnumMap<>(Stage.class);
+    private final Map<Stage, LongAdder> failures = new EnumMap<>(Stage.class);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Semaphore inFlight;
+    private volatile boolean recording;
+
+    ClaimWorkflowDriver(HttpClient client, String gatewayUrl, LoadTestConfig config) {
+        this.client = client;
+        this.gatewayUrl = gatewayUrl;
+        this.config = config;
+        this.inFlight = new Semaphore(config.maxInFlight);
+        for (Stage stage : Stage.values()) {
+            recorders.put(stage, new Recorder(MAX_LATENCY_US, 3));
+            failures.put(stage, new LongAdder());
+        }
+    }
+
+    /**
+     * Run the warmup and then the measured phase, returning once every started claim has finished
+     */
+    void run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+        for (long claim = 0; ; claim++) {
+            long intended = start + claim * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!recording && intended >= warmupEnd) {
+                startRecording();
+            }
+            if (!inFlight.tryAcquire()) {
+                if (recording) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            startClaim(claim, intended).whenComplete((ignored, error) -> inFlight.release());
+        }
+
+        // Drain: wait until all in-flight claims released their permit
+        inFlight.acquire(config.maxInFlight);
+        inFlight.release(config.maxInFlight);
+    }
+
+    private void startRecording() {
+        // Discard everything recorded during warmup
+        for (Recorder recorder : recorders.values()) {
+            recorder.getIntervalHistogram();
+        }
+        failures.values().forEach(LongAdder::reset);
+        completed.reset();
+        recording = true;
+    }
+
+    private CompletableFuture<Void> startClaim(long sequence, long intendedStart) {
+        String claimId = "LT-" + runId + "-" + sequence;
+        boolean sampled = recording;
+
+        CompletableFuture<Void> workflow = send(Stage.SUBMIT, jsonRequest("/api/submit", "POST", claimJson(claimId)), sampled)
+            .thenCompose(ignored -> send(Stage.ADVANCE,
+                jsonRequest("/api/claims/" + claimId + "/advance", "POST", "{\"updatedBy\":\"employer-services\"}"), sampled))
+            .thenCompose(ignored -> send(Stage.TAX_SOAP, taxRequest(claimId), sampled))
+            .thenCompose(ignored -> send(Stage.PAYMENT,
+                jsonRequest("/api/claims/" + claimId + "/status", "PUT", paymentJson()), sampled))
+            .thenAccept(ignored -> {
+                if (sampled) {
+                    record(Stage.END_TO_END, intendedStart);
+                    completed.increment();
+                }
+            });
+
+        if (config.graphqlEvery > 0 && sequence % config.graphqlEvery == 0) {
+            CompletableFuture<Void> graphql = send(Stage.GRAPHQL,
+                jsonRequest("/camel/claimant/graphql", "POST", "{\"query\":\"{ claims { claimId } }\"}"), sampled);
+            workflow = CompletableFuture.allOf(workflow, graphql);
+        }
+        return workflow.exceptionally(error -> null);
+    }
+
+    private CompletableFuture<Void> send(Stage stage, HttpRequest request, boolean sampled) {
+        long started = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                boolean failed = error != null || response.statusCode() >= 300 || isErrorBody(stage, response.body());
+                if (sampled) {
+                    if (failed) {
+                        failures.get(stage).increment();
+                    } else {
+                        record(stage, started);
+                    }
+                }
+                if (failed) {
+                    throw new CompletionException(new IllegalStateException(stage + " failed"));
+                }
+                return null;
+            });
+    }
+
+    private static boolean isErrorBody(Stage stage, String body) {
+        // Both of these report failures inside a 200 response
+        return switch (stage) {
+            case SUBMIT -> body.contains("Failed to process claim");
+            case TAX_SOAP -> body.contains(">ERROR<");
+            default -> false;
+        };
+    }
+
+    private void record(Stage stage, long startedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedNanos);
+        recorders.get(stage).recordValue(Math.min(Math.max(micros, 1), MAX_LATENCY_US));
+    }
+
+    private HttpRequest jsonRequest(String path, String method, String body) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private HttpRequest taxRequest(String claimId) {
+        String envelope = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>"
+            + "<UpdateTaxCalculation xmlns=\"http://camel-gateway/tax\">"
+            + "<claimId>" + claimId + "</claimId>"
+            + "<stateTaxAmount>1300.00</stateTaxAmount>"
+            + "<federalTaxAmount>5720.00</federalTaxAmount>"
+            + "<totalTaxAmount>7020.00</totalTaxAmount>"
+            + "<stateTaxRate>0.025</stateTaxRate>"
+            + "<federalTaxRate>0.11</federalTaxRate>"
+            + "<calculatedBy>tax-services</calculatedBy>"
+            + "</UpdateTaxCalculation></soap:Body></soap:Envelope>";
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + "/soap/tax"))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "text/xml; charset=utf-8")
+            .header("SOAPAction", "http://camel-gateway/tax/UpdateTaxCalculation")
+            .POST(HttpRequest.BodyPublishers.ofString(envelope))
+            .build();
+    }
+
+    private static String claimJson(String claimId) {
+        return "{"
+            + "\"claimId\":\"" + claimId + "\","
+            + "\"userId\":\"user-" + claimId + "\","
+            + "\"firstName\":\"Load\",\"lastName\":\"Test\","
+            + "\"ssn\":\"000-00-0000\",\"dateOfBirth\":\"1985-04-12\","
+            + "\"email\":\"load.test@example.com\",\"phone\":\"555-0100\","
+            + "\"address\":{\"street\":\"100 Main St\",\"city\":\"Springfield\",\"state\":\"IL\",\"zipCode\":\"62701\"},"
+            + "\"employer\":{\"name\":\"Acme Manufacturing\",\"ein\":\"12-3456789\"},"
+            + "\"employmentDates\":{\"startDate\":\"2019-02-01\",\"endDate\":\"2024-01-15\"},"
+            + "\"separationReason\":\"LAYOFF\",\"separationDetails\":\"Position eliminated\","
+            + "\"wageData\":{\"lastQuarterEarnings\":\"12500.00\",\"annualEarnings\":\"52000.00\"},"
+            + "\"submissionTimestamp\":\"2024-01-20T14:32:10\""
+            + "}";
+    }
+
+    private static String paymentJson() {
+        return "{\"statusCode\":\"PAYMENT_PROCESSED\",\"statusDisplayName\":\"Payment Processed\","
+            + "\"updatedBy\":\"paymentservices\","
+            + "\"notes\":\"Payment processed. WBA: $346.15, Max Benefit: $9000.00, First Payment: $316.15\"}";
+    }
+
+    Histogram histogram(Stage stage) {
+        return recorders.get(stage).getIntervalHistogram();
+    }
+
+    long failures(Stage stage) {
+        return failures.get(stage).sum();
+    }
+
+    long completed() {
+        return completed.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.playground.camel.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the gateway's connection pool during the measured phase.
+ *
+ * Threads waiting for a connection (pending), time to acquire one and pool
+ * timeouts are the contention signals; with H2 in-process, row lock waits show
+ * up as longer connection usage times.
+ */
+final class DatabaseContentionSampler {
+
+    private final MeterRegistry registry;
+    private ScheduledFuture<?> sampling;
+    private double maxPending;
+    private double pendingSum;
+    private double maxActive;
+    private long samples;
+
+    // Values at the start of the measured phase, so warmup is excluded from the totals
+    private long acquireCountStart;
+    private double acquireTotalMsStart;
+    private long usageCountStart;
+    private double usageTotalMsStart;
+    private double timeoutsStart;
+
+    DatabaseContentionSampler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    synchronized void start(ScheduledExecutorService scheduler) {
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        Timer usage = registry.find("hikaricp.connections.usage").timer();
+        acquireCountStart = acquire != null ? acquire.count() : 0;
+        acquireTotalMsStart = acquire != null ? acquire.totalTime(TimeUnit.MILLISECONDS) : 0;
+        usageCountStart = usage != null ? usage.count() : 0;
+        usageTotalMsStart = usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+        timeoutsStart = counter("hikaricp.connections.timeout");
+        sampling = scheduler.scheduleAtFixedRate(this::sample, 0, 100, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void sample() {
+        double pending = gauge("hikaricp.connections.pending");
+        double active = gauge("hikaricp.connections.active");
+        maxPending = Math.max(maxPending, pending);
+        maxActive = Math.max(maxActive, active);
+        pendingSum += pending;
+        samples++;
+    }
+
+    synchronized void stop() {
+        if (sampling != null) {
+            sampling.cancel(false);
+        }
+    }
+
+    synchronized void printSummary() {
+        Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+        Timer usage = registry.find("hikaricp.connections.usage").timer();
+        Gauge max = registry.find("hikaricp.connections.max").gauge();
+
+        System.out.println("Database contention (HikariCP):");
+        if (acquire == null || usage == null) {
+            System.out.println("  connection pool metrics not available");
+            return;
+        }
+        long acquires = acquire.count() - acquireCountStart;
+        long usages = usage.count() - usageCountStart;
+        System.out.printf("  pool size              %.0f%n", max != null ? max.value() : Double.NaN);
+        System.out.printf("  active connections     max %.0f%n", maxActive);
+        System.out.printf("  threads waiting        avg %.2f, max %.0f%n", samples > 0 ? pendingSum / samples : 0, maxPending);
+        System.out.printf("  connection acquire     %,d, mean %.3f ms, max %.3f ms (recent)%n",
+            acquires, mean(acquire.totalTime(TimeUnit.MILLISECONDS) - acquireTotalMsStart, acquires), acquire.max(TimeUnit.MILLISECONDS));
+        System.out.printf("  connection held        %,d, mean %.3f ms, max %.3f ms (recent)%n",
+            usages, mean(usage.totalTime(TimeUnit.MILLISECONDS) - usageTotalMsStart, usages), usage.max(TimeUnit.MILLISECONDS));
+        System.out.printf("  acquire timeouts       %.0f%n", counter("hikaricp.connections.timeout") - timeoutsStart);
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private double counter(String name) {
+        Counter counter = registry.find(name).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static double mean(double totalMs, long count) {
+        return count > 0 ? totalMs / count : 0;
+    }
+}
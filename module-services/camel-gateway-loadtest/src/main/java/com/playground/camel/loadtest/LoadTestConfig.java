@@ -0,0 +1,55 @@
+package com.playground.camel.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Harness settings, given as --name=value arguments
+ */
+final class LoadTestConfig {
+
+    // Claims started per second (open loop: the rate does not slow down when the gateway does)
+    final double rate;
+    // Measured run length, after the warmup
+    final int durationSeconds;
+    final int warmupSeconds;
+    // Claims allowed in flight before new starts are dropped and counted
+    final int maxInFlight;
+    // Artificial latency added by every stub downstream
+    final int stubLatencyMs;
+    // Every Nth claim also sends a GraphQL request through the gateway to the claimant stub (0 = never)
+    final int graphqlEvery;
+    // Run the gateway on virtual threads (spring.threads.virtual.enabled, needs Java 21)
+    final boolean virtualThreads;
+
+    private LoadTestConfig(Map<String, String> args) {
+        this.rate = Double.parseDouble(args.getOrDefault("rate", "50"));
+        this.durationSeconds = Integer.parseInt(args.getOrDefault("duration", "60"));
+        this.warmupSeconds = Integer.parseInt(args.getOrDefault("warmup", "15"));
+        this.maxInFlight = Integer.parseInt(args.getOrDefault("max-in-flight", "2000"));
+        this.stubLatencyMs = Integer.parseInt(args.getOrDefault("stub-latency-ms", "5"));
+        this.graphqlEvery = Integer.parseInt(args.getOrDefault("graphql-every", "10"));
+        this.virtualThreads = Boolean.parseBoolean(args.getOrDefault("virtual-threads", "false"));
+        if (rate <= 0 || durationSeconds <= 0 || warmupSeconds < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, duration and max-in-flight must be positive and warmup not negative");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(values);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%.1f/s duration=%ds warmup=%ds max-in-flight=%d stub-latency=%dms graphql-every=%d virtual-threads=%b",
+            rate, durationSeconds, warmupSeconds, maxInFlight, stubLatencyMs, graphqlEvery, virtualThreads);
+    }
+}
@@ -0,0 +1,98 @@
+package com.playground.camel.loadtest;
+
+import com.playground.camel.CamelGatewayApp;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load test: stub downstreams, the gateway and the workload in one JVM.
+ *
+ * Usage: mvn exec:java -Dexec.args="--rate=100 --duration=120"
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+            .executor(clientExecutor)
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        try (StubDownstreams stubs = StubDownstreams.start(config.stubLatencyMs);
+             ConfigurableApplicationContext gateway = startGateway(stubs, config)) {
+
+            int port = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String gatewayUrl = "http://127.0.0.1:" + port;
+            stubs.register(client, gatewayUrl, scheduler);
+
+            ClaimWorkflowDriver driver = new ClaimWorkflowDriver(client, gatewayUrl, config);
+            DatabaseContentionSampler contention = new DatabaseContentionSampler(gateway.getBean(MeterRegistry.class));
+            scheduler.schedule(() -> contention.start(scheduler), config.warmupSeconds, TimeUnit.SECONDS);
+
+            long started = System.nanoTime();
+            driver.run();
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9 - config.warmupSeconds;
+            contention.stop();
+
+            printReport(config, driver, elapsedSeconds);
+            contention.printSummary();
+            stubs.printSummary();
+        } finally {
+            scheduler.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(StubDownstreams stubs, LoadTestConfig config) {
+        return new SpringApplicationBuilder(CamelGatewayApp.class)
+            .properties(
+                "server.port=0",
+                "grpc.server.port=0",
+                "camel.servlet.mapping.context-path=/camel/*",
+                "claimant.services.graphql-url=" + stubs.claimantGraphqlUrl(),
+                "spring.threads.virtual.enabled=" + config.virtualThreads,
+                // Keep log I/O out of the measurement; the gateway's own sampling applies on top
+                "logging.level.root=WARN",
+                "logging.level.com.playground.camel=WARN",
+                "logging.level.org.apache.camel=WARN",
+                "management.tracing.sampling.probability=0.0")
+            .run();
+    }
+
+    private static void printReport(LoadTestConfig config, ClaimWorkflowDriver driver, double elapsedSeconds) {
+        long completed = driver.completed();
+        System.out.println();
+        System.out.printf("Measured %.1f s: %,d claims completed (%.1f claims/s, offered %.1f/s), %,d dropped at max-in-flight%n",
+            elapsedSeconds, completed, completed / elapsedSeconds, config.rate, driver.dropped());
+        System.out.println();
+        System.out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+            "stage", "count", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "req/s");
+        for (ClaimWorkflowDriver.Stage stage : ClaimWorkflowDriver.Stage.values()) {
+            Histogram histogram = driver.histogram(stage);
+            long count = histogram.getTotalCount();
+            System.out.printf("%-12s %,10d %,8d %10.2f %10.2f %10.2f %10.2f %10.2f %10.1f%n",
+                stage, count, driver.failures(stage),
+                millis(histogram, 50.0), millis(histogram, 90.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0, count / elapsedSeconds);
+        }
+        System.out.println();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.playground.camel.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-ins for the downstream services the gateway talks to.
+ *
+ * Each stub registers with the gateway (so the health probe engine polls it), sends
+ * heartbeats, and answers its endpoints with a canned response after a fixed delay.
+ */
+final class StubDownstreams implements AutoCloseable {
+
+    private static final String HEALTH_RESPONSE = "{\"status\":\"UP\"}";
+    private static final String GRAPHQL_RESPONSE = "{\"data\":{\"claims\":[]}}";
+
+    private final int latencyMs;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-downstream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Stub> stubs = new ArrayList<>();
+    private Stub claimantServices;
+
+    private StubDownstreams(int latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    static StubDownstreams start(int latencyMs) throws IOException {
+        StubDownstreams downstreams = new StubDownstreams(latencyMs);
+        downstreams.claimantServices = downstreams.stub("claimant-services", "Claimant Services", "Node.js", "GraphQL", "/graphql", "/health");
+        downstreams.claimantServices.handle("/graphql", "application/json", GRAPHQL_RESPONSE);
+        downstreams.stub("paymentservices", "Payment Services", "Go", "HTTP", "/api", "/health");
+        downstreams.stub("tax-services", "Tax Services", "Python", "SOAP", "/soap", "/health");
+        downstreams.stub("employer-services", "Employer Services", ".NET", "REST", "/api", "/api/health");
+        return downstreams;
+    }
+
+    private Stub stub(String serviceId, String name, String technology, String protocol, String endpointPath, String healthPath) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        Stub stub = new Stub(serviceId, name, technology, protocol, endpointPath, healthPath, server);
+        stub.handle(healthPath, "application/json", HEALTH_RESPONSE);
+        server.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    String claimantGraphqlUrl() {
+        return claimantServices.url("/graphql");
+    }
+
+    /**
+     * Register every stub with the gateway and keep it alive with periodic heartbeats
+     */
+    void register(HttpClient client, String gatewayUrl, ScheduledExecutorService scheduler) throws IOException, InterruptedException {
+        for (Stub stub : stubs) {
+            String registration = String.format(
+                "{\"serviceId\":\"%s\",\"name\":\"%s\",\"technology\":\"%s\",\"protocol\":\"%s\",\"endpoint\":\"%s\",\"healthEndpoint\":\"%s\"}",
+                stub.serviceId, stub.name, stub.technology, stub.protocol, stub.url(stub.endpointPath), stub.url(stub.healthPath));
+            HttpResponse<String> response = client.send(jsonPost(gatewayUrl + "/api/services/register", registration),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Registering " + stub.serviceId + " failed: HTTP " + response.statusCode());
+            }
+        }
+        scheduler.scheduleAtFixedRate(() -> {
+            for (Stub stub : stubs) {
+                String heartbeat = "{\"serviceId\":\"" + stub.serviceId + "\",\"status\":\"UP\"}";
+                client.sendAsync(jsonPost(gatewayUrl + "/api/services/heartbeat", heartbeat), HttpResponse.BodyHandlers.discarding());
+            }
+        }, 10, 10, TimeUnit.SECONDS);
+    }
+
+    private static HttpRequest jsonPost(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    void printSummary() {
+        System.out.println("Stub downstream requests:");
+        for (Stub stub : stubs) {
+            System.out.printf("  %-20s %,10d%n", stub.serviceId, stub.requests.sum());
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Stub stub : stubs) {
+            stub.server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    private final class Stub {
+        final String serviceId;
+        final String name;
+        final String technology;
+        final String protocol;
+        final String endpointPath;
+        final String healthPath;
+        final HttpServer server;
+        final LongAdder requests = new LongAdder();
+
+        Stub(String serviceId, String name, String technology, String protocol, String endpointPath, String healthPath, HttpServer server) {
+            this.serviceId = serviceId;
+            this.name = name;
+            this.technology = technology;
+            this.protocol = protocol;
+            this.endpointPath = endpointPath;
+            this.healthPath = healthPath;
+            this.server = server;
+        }
+
+        String url(String path) {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        }
+
+        void handle(String path, String contentType, String body) {
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            server.createContext(path, exchange -> respond(exchange, contentType, response));
+        }
+
+        private void respond(HttpExchange exchange, String contentType, byte[] response) throws IOException {
+            requests.increment();
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+                if (latencyMs > 0) {
+                    Thread.sleep(latencyMs);
+                }
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.playground.camel.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.playground.camel.transformers.JsonCodecs;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replace reflective property access with generated lambdas in the shared ObjectMapper.
+     * Spring Boot registers every Module bean with the auto-configured mapper.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "gateway.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Smile request/response bodies (Accept: application/x-jackson-smile) with the shared mapper's settings.
+     * Spring Boot puts converter beans in place of its defaults, after compact JSON.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(JsonCodecs jsonCodecs) {
+        return new MappingJackson2SmileHttpMessageConverter(jsonCodecs.getSmileMapper());
+    }
+
+    /**
+     * CBOR request/response bodies (Accept: application/cbor)
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(JsonCodecs jsonCodecs) {
+        return new MappingJackson2CborHttpMessageConverter(jsonCodecs.getCborMapper());
+    }
+}
@@ -0,0 +1,38 @@
+package com.playground.camel.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Interface tag for routes without a route group (the gateway's own routes)
+    private static final String DEFAULT_INTERFACE = "gateway";
+
+    /**
+     * Tag every Camel meter that carries a routeId with the interface (route group) that owns the route
+     */
+    @Bean
+    public MeterFilter camelInterfaceTagFilter(ObjectProvider<CamelContext> camelContext) {
+        // Looked up lazily: the CamelContext itself registers meters through this filter
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                String routeId = id.getTag("routeId");
+                if (!id.getName().startsWith("camel") || routeId == null || id.getTag("interface") != null) {
+                    return id;
+                }
+                CamelContext context = camelContext.getIfAvailable();
+                Route route = context != null ? context.getRoute(routeId) : null;
+                String group = route != null && route.getGroup() != null ? route.getGroup() : DEFAULT_INTERFACE;
+                return id.withTag(Tag.of("interface", group));
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.playground.camel.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.camel.component.http.HttpComponent;
+import org.apache.camel.spi.ComponentCustomizer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboundHttpConfig {
+
+    @Value("${outbound.http.max-connections:200}")
+    private int maxConnections;
+
+    @Value("${outbound.http.max-per-target:50}")
+    private int maxPerTarget;
+
+    @Value("${outbound.http.connect-timeout:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${outbound.http.read-timeout:10000}")
+    private long readTimeoutMs;
+
+    @Value("${outbound.http.pool-timeout:1000}")
+    private long poolTimeoutMs;
+
+    @Value("${outbound.http.idle-timeout:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${outbound.http.time-to-live:300000}")
+    private long timeToLiveMs;
+
+    @Value("${outbound.http.validate-after-inactivity:2000}")
+    private long validateAfterInactivityMs;
+
+    /**
+     * Keep-alive connection pool shared by every http:// and https:// endpoint, partitioned per target host:port.
+     * This is HttpClient 5's classic (blocking) pool, which speaks HTTP/1.1 only: camel-http cannot use the
+     * async HTTP/2 client, so requests are not multiplexed and concurrency per target is max-per-target.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxPerTarget)
+            // Reuse the most recently released connection, so idle ones age out under light load
+            .setConnPoolPolicy(PoolReusePolicy.LIFO)
+            .setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .build())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                // Check a pooled connection that sat idle before reusing it (the peer may have closed it)
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                .build())
+            .build();
+    }
+
+    /**
+     * Point Camel's http and https components (separate instances) at the shared pool. Callers wait
+     * at most pool-timeout for a free connection, so a burst queues briefly instead of opening
+     * unbounded sockets.
+     */
+    @Bean
+    public ComponentCustomizer outboundHttpComponentCustomizer(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return ComponentCustomizer.builder(HttpComponent.class)
+            .withCondition((name, component) -> "http".equals(name) || "https".equals(name))
+            .build(component -> {
+                component.setClientConnectionManager(outboundConnectionManager);
+                component.setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs));
+                component.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs));
+                component.setHttpClientConfigurer(builder -> builder
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs)));
+            });
+    }
+
+    /**
+     * Pool totals (httpcomponents.httpclient.pool.*); per-target figures come from OutboundHttpPoolMetrics
+     */
+    @Bean
+    public MeterBinder outboundHttpPoolTotals(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(outboundConnectionManager, "camel-outbound");
+    }
+}
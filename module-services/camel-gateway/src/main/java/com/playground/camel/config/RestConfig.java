@@ -13,7 +13,10 @@ public class RestConfig extends RouteBuilder {
         restConfiguration()
             .component("servlet")
             .bindingMode(RestBindingMode.json)
-            .dataFormatProperty("prettyPrint", "true")
+            // Bind with the shared Spring ObjectMapper instead of a private default one per data format.
+            // No prettyPrint: it would switch on INDENT_OUTPUT for the shared mapper, and every other writer with it
+            .dataFormatProperty("json.in.autoDiscoverObjectMapper", "true")
+            .dataFormatProperty("json.out.autoDiscoverObjectMapper", "true")
             .contextPath("/") // Changed from "/api" to "/" 
             .host("0.0.0.0")
             .port("8080");
@@ -0,0 +1,39 @@
+package com.playground.camel.config;
+
+import brave.baggage.BaggageFields;
+import brave.baggage.CorrelationScopeConfig.SingleCorrelationField;
+import brave.baggage.CorrelationScopeCustomizer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfig {
+
+    // Logger used by every route's .log() step, so route hops fall under the sampled-trace log filter
+    public static final String ROUTE_LOG_NAME = "com.playground.camel.routes.hops";
+
+    /**
+     * Put the trace's sampling decision in the MDC next to traceId/spanId
+     */
+    @Bean
+    public CorrelationScopeCustomizer sampledCorrelationField() {
+        return builder -> builder.add(SingleCorrelationField.create(BaggageFields.SAMPLED));
+    }
+
+    @Bean
+    public CamelContextConfiguration routeLogNameConfiguration() {
+        return new CamelContextConfiguration() {
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                camelContext.getGlobalOptions().put(Exchange.LOG_EIP_NAME, ROUTE_LOG_NAME);
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.playground.camel.config;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Extends spring.threads.virtual.enabled to Camel.
+ *
+ * Spring Boot moves Tomcat request handling and its task executors to virtual threads by itself;
+ * Camel decides once, when its thread factory class loads, from the camel.threads.virtual.enabled
+ * system property. This sets that property before the CamelContext is created.
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String CAMEL_VIRTUAL_THREADS = "camel.threads.virtual.enabled";
+
+    private final Log logger;
+
+    public VirtualThreadsEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.logger = logFactory.getLog(VirtualThreadsEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            logger.warn("⚠️ spring.threads.virtual.enabled needs Java 21 or later, running on platform threads (Java "
+                + Runtime.version().feature() + ")");
+            return;
+        }
+        if (System.getProperty(CAMEL_VIRTUAL_THREADS) == null) {
+            System.setProperty(CAMEL_VIRTUAL_THREADS, "true");
+        }
+        logger.info("🧵 Virtual threads enabled for Tomcat, Spring task executors and Camel thread pools");
+    }
+}
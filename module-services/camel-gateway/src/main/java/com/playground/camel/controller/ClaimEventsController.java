@@ -0,0 +1,61 @@
+package com.playground.camel.controller;
+
+import com.playground.camel.events.ClaimEventBroadcaster;
+import com.playground.camel.monitoring.DashboardEventPublisher;
+import com.playground.camel.monitoring.HealthMonitor;
+import com.playground.camel.service.ClaimStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class ClaimEventsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimEventsController.class);
+
+    @Autowired
+    private ClaimEventBroadcaster claimEventBroadcaster;
+
+    @Autowired
+    private DashboardEventPublisher dashboardEventPublisher;
+
+    @Autowired
+    private ClaimStatisticsService claimStatisticsService;
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    /**
+     * Subscribe to committed claim events (CLAIM_RECEIVED, CLAIM_STATUS_CHANGED, CLAIM_WORKFLOW_ADVANCED)
+     */
+    @GetMapping(value = "/claims", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClaimEvents() {
+        logger.info("📡 New claim event subscriber");
+        return claimEventBroadcaster.subscribe();
+    }
+
+    /**
+     * Subscribe a dashboard: one snapshot, then coalesced claim-count and service-health updates
+     */
+    @GetMapping(value = "/dashboard", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardEvents() {
+        logger.info("📡 New dashboard subscriber");
+        
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("camelStatus", "RUNNING");
+        snapshot.put("totalClaims", claimStatisticsService.getTotalClaims());
+        snapshot.put("services", healthMonitor.getServiceStatuses());
+        snapshot.put("timestamp", LocalDateTime.now());
+        
+        return dashboardEventPublisher.subscribe(snapshot);
+    }
+}
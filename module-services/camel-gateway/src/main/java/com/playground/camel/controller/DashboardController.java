@@ -1,6 +1,6 @@
 package com.playground.camel.controller;
 
-import com.playground.camel.service.ClaimService;
+import com.playground.camel.service.ClaimStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,13 +10,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 public class DashboardController {
 
     @Autowired
-    private ClaimService claimService;
+    private ClaimStatisticsService claimStatisticsService;
 
     @GetMapping("/")
     public String dashboard(Model model) {
         // Add claims count for the main dashboard
         try {
-            long totalClaims = claimService.getAllClaims().size();
+            long totalClaims = claimStatisticsService.getTotalClaims();
             model.addAttribute("totalClaims", totalClaims);
         } catch (Exception e) {
             model.addAttribute("totalClaims", 0);
@@ -1,20 +1,30 @@
 package com.playground.camel.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.playground.camel.monitoring.HealthMonitor;
 import com.playground.camel.model.ServiceRegistration;
 import com.playground.camel.model.Claim;
+import com.playground.camel.model.ClaimSubmissionResult;
 import com.playground.camel.service.ServiceRegistrationService;
 import com.playground.camel.service.ClaimService;
+import com.playground.camel.service.ClaimChangeTracker;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,11 +51,14 @@ public class IntegrationController {
     @Autowired
     private ClaimService claimService;
 
+    @Autowired
+    private ClaimChangeTracker claimChangeTracker;
+
     @PostMapping(value = "/submit", 
                 consumes = MediaType.APPLICATION_JSON_VALUE,
                 produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> submitData(@RequestBody String jsonData) {
-        logger.info("📥 Received submission request");
+        logger.debug("📥 Received submission request");
         try {
             // Send the request to our Camel route for processing
             String result = producerTemplate.requestBody("direct:processSubmission", jsonData, String.class);
@@ -56,7 +69,7 @@ public class IntegrationController {
             response.put("result", result);
             response.put("timestamp", LocalDateTime.now());
             
-            logger.info("✅ Submission processed successfully");
+            logger.debug("✅ Submission processed successfully");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("❌ Submission processing failed", e);
@@ -70,14 +83,78 @@ public class IntegrationController {
         }
     }
 
+    @PostMapping(value = "/submit/bulk",
+                consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"},
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> submitBulkData(@RequestBody String body) {
+        logger.debug("📥 Received bulk submission request");
+        try {
+            Object result = producerTemplate.requestBody("direct:processBulkSubmission", body);
+            
+            List<ClaimSubmissionResult> results = new ArrayList<>();
+            if (result instanceof List<?> list) {
+                for (Object item : list) {
+                    results.add((ClaimSubmissionResult) item);
+                }
+            }
+            long succeeded = results.stream().filter(ClaimSubmissionResult::isSuccess).count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", succeeded == results.size() ? "success" : succeeded == 0 ? "error" : "partial");
+            response.put("total", results.size());
+            response.put("succeeded", succeeded);
+            response.put("failed", results.size() - succeeded);
+            response.put("results", results);
+            response.put("timestamp", LocalDateTime.now());
+            
+            logger.debug("✅ Bulk submission processed: {} of {} claims stored", succeeded, results.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("timestamp", LocalDateTime.now());
+            
+            if (isMalformedJson(e)) {
+                // Batches ahead of the malformed entry have already been committed
+                logger.warn("⚠️ Malformed bulk submission: {}", e.getMessage());
+                errorResponse.put("error", "Malformed bulk submission");
+                errorResponse.put("message", "Claims before the malformed entry were stored; resubmit from that point: " + e.getMessage());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+            
+            logger.error("❌ Bulk submission processing failed", e);
+            errorResponse.put("error", "Processing failed");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+
+    private boolean isMalformedJson(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException || cause instanceof RuntimeJsonMappingException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GetMapping(value = "/health/services", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> getServiceHealth() {
+    public ResponseEntity<byte[]> getServiceHealth(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         logger.debug("🔍 Health check requested");
         try {
-            // Get the current service status directly from HealthMonitor
-            String status = healthMonitor.getCurrentStatus();
+            // Serve the pre-serialized snapshot; unchanged polls only get a 304
+            HealthMonitor.StatusSnapshot snapshot = healthMonitor.getStatusSnapshot();
+            if (snapshot.matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+            }
             
-            return ResponseEntity.ok(status);
+            return ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.getJson());
         } catch (Exception e) {
             logger.error("❌ Health check failed", e);
             
@@ -89,7 +166,7 @@ public class IntegrationController {
             
             return ResponseEntity.status(500)
                 .contentType(MediaType.APPLICATION_JSON)
-                .body(errorResponse.toString()); // This is temporary - we'll improve this in the next iteration
+                .body(errorResponse.toString().getBytes(StandardCharsets.UTF_8)); // This is temporary - we'll improve this in the next iteration
         }
     }
 
@@ -126,8 +203,7 @@ public class IntegrationController {
                 consumes = MediaType.APPLICATION_JSON_VALUE,
                 produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> registerService(@RequestBody Map<String, Object> registrationData) {
-        logger.info("📝 Service registration request received");
-        logger.info("📝 Registration data: {}", registrationData);
+        logger.debug("📝 Service registration request received");
         
         try {
             String serviceId = (String) registrationData.get("serviceId");
@@ -137,7 +213,7 @@ public class IntegrationController {
             String endpoint = (String) registrationData.get("endpoint");
             String healthEndpoint = (String) registrationData.get("healthEndpoint");
 
-            logger.info("📝 Processing registration for service: {}", serviceId);
+            logger.debug("📝 Processing registration for service: {}", serviceId);
 
             // Validate required fields
             if (serviceId == null || name == null || technology == null || protocol == null || endpoint == null) {
@@ -152,7 +228,7 @@ public class IntegrationController {
                 serviceId, name, technology, protocol, endpoint, healthEndpoint
             );
 
-            logger.info("✅ Service registered successfully: {} -> {}", serviceId, registration.getId());
+            logger.debug("✅ Service registered successfully: {} -> {}", serviceId, registration.getId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -231,8 +307,14 @@ public class IntegrationController {
 
     // NEW CLAIMS ENDPOINTS FOR TAX-SERVICE INTEGRATION
     @GetMapping(value = "/claims/status/{status}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Claim>> getClaimsByStatus(@PathVariable String status) {
-        logger.info("🔍 Claims requested for status: {}", status);
+    public ResponseEntity<List<Claim>> getClaimsByStatus(@PathVariable String status, WebRequest webRequest) {
+        logger.debug("🔍 Claims requested for status: {}", status);
+        
+        // Pollers re-reading an unchanged work queue get a 304 without touching the database
+        if (webRequest.checkNotModified(claimChangeTracker.getETag(), claimChangeTracker.getLastModified())) {
+            logger.debug("📋 Claims unchanged since version {}", claimChangeTracker.getVersion());
+            return null;
+        }
         
         try {
             // Use the existing Camel route that's already defined in IntegrationRoutes.java
@@ -249,30 +331,14 @@ public class IntegrationController {
                 List.class
             );
             
-            logger.info("📋 Found {} claims with status: {}", claims.size(), status);
+            logger.debug("📋 Found {} claims with status: {}", claims.size(), status);
             return ResponseEntity.ok(claims);
             
         } catch (Exception e) {
             logger.error("❌ Failed to get claims for status {}: {}", status, e.getMessage(), e);
             
             // Return empty list instead of error to avoid breaking polling services
-            logger.info("📋 Returning empty list due to error");
-            return ResponseEntity.ok(java.util.Collections.emptyList());
-        }
-    }
-
-    @GetMapping(value = "/claims", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Claim>> getAllClaims() {
-        logger.info("🔍 All claims requested");
-        
-        try {
-            List<Claim> claims = claimService.getAllClaims();
-            
-            logger.info("📋 Found {} total claims", claims.size());
-            return ResponseEntity.ok(claims);
-            
-        } catch (Exception e) {
-            logger.error("❌ Failed to get all claims: {}", e.getMessage(), e);
+            logger.debug("📋 Returning empty list due to error");
             return ResponseEntity.ok(java.util.Collections.emptyList());
         }
     }
@@ -280,7 +346,7 @@ public class IntegrationController {
     // Add a simple test endpoint to verify the controller is working
     @GetMapping(value = "/test", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> testEndpoint() {
-        logger.info("🧪 Test endpoint called");
+        logger.debug("🧪 Test endpoint called");
         Map<String, Object> response = new HashMap<>();
         response.put("status", "OK");
         response.put("message", "Integration Controller is working");
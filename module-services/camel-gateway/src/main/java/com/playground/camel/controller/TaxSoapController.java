@@ -2,7 +2,6 @@ package com.playground.camel.controller;
 
 import com.playground.camel.model.Claim;
 import com.playground.camel.service.ClaimService;
-import com.playground.camel.repository.ClaimRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
@@ -25,22 +24,12 @@ public class TaxSoapController {
 
     @Autowired
     private ClaimService claimService;
-    
-    @Autowired
-    private ClaimRepository claimRepository;
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "UpdateTaxCalculation")
     @ResponsePayload
     public UpdateTaxCalculationResponse updateTaxCalculation(@RequestPayload UpdateTaxCalculationRequest request) {
-        logger.info("🧮 SOAP Tax calculation received for claim: {}", request.getClaimId());
-        
-        // Enhanced debugging to see what we're actually receiving
-        logger.info("🔍 Raw request object: {}", request);
-        logger.info("🔍 Request claimId: '{}'", request.getClaimId());
-        logger.info("🔍 Request stateTaxAmount: {}", request.getStateTaxAmount());
-        logger.info("🔍 Request federalTaxAmount: {}", request.getFederalTaxAmount());
-        logger.info("🔍 Request totalTaxAmount: {}", request.getTotalTaxAmount());
-        logger.info("🔍 Request calculatedBy: '{}'", request.getCalculatedBy());
+        logger.debug("🧮 SOAP Tax calculation received for claim: {}", request.getClaimId());
+
         
         try {
             // Check if claimId is null or empty
@@ -54,7 +43,7 @@ public class TaxSoapController {
                 return createErrorResponse("INVALID_REQUEST", "ClaimId cannot be empty");
             }
             
-            logger.info("✅ ClaimId is valid: '{}'", request.getClaimId());
+            logger.debug("✅ ClaimId is valid: '{}'", request.getClaimId());
             
             // Find the claim
             Optional<Claim> claimOpt = claimService.getClaimByReferenceId(request.getClaimId());
@@ -64,7 +53,7 @@ public class TaxSoapController {
             }
             
             Claim claim = claimOpt.get();
-            logger.info("✅ Found claim: {}", claim.getClaimReferenceId());
+            logger.debug("✅ Found claim: {}", claim.getClaimReferenceId());
             
             // Validate claim is in correct status for tax calculation
             if (!Claim.Status.AWAITING_TAX_CALC.equals(claim.getStatusCode())) {
@@ -74,32 +63,17 @@ public class TaxSoapController {
                     "Claim not ready for tax calculation. Current status: " + claim.getStatusCode());
             }
             
-            // Update claim with tax calculation results
-            claim.setStateTaxAmount(request.getStateTaxAmount());
-            claim.setFederalTaxAmount(request.getFederalTaxAmount());
-            claim.setTotalTaxAmount(request.getTotalTaxAmount());
-            claim.setTaxCalculationDate(LocalDateTime.now());
-            
-            // Add processing note
+            // Build processing note
             String taxNote = String.format("Tax calculation completed: State=$%.2f, Federal=$%.2f, Total=$%.2f (Rates: State=%.4f, Federal=%.4f)",
                 request.getStateTaxAmount(), request.getFederalTaxAmount(), request.getTotalTaxAmount(),
                 request.getStateTaxRate(), request.getFederalTaxRate());
             
-            claim.addProcessingNote(taxNote);
-            claim.setUpdatedBy(request.getCalculatedBy() != null ? request.getCalculatedBy() : "tax-services");
-            
-            // Update status to indicate tax calculation is complete
-            claim.updateStatus("AWAITING_PAYMENT", "Tax Calculation Complete - Awaiting Payment Processing", 
-                request.getCalculatedBy() != null ? request.getCalculatedBy() : "tax-services");
-            
-            // Update workflow stage
-            claim.updateWorkflowStage(Claim.WorkflowStage.FINAL_REVIEW, 
+            // Update amounts, status and workflow stage in one transaction (also publishes the claim events)
+            Claim updatedClaim = claimService.recordTaxCalculation(request.getClaimId(),
+                request.getStateTaxAmount(), request.getFederalTaxAmount(), request.getTotalTaxAmount(), taxNote,
                 request.getCalculatedBy() != null ? request.getCalculatedBy() : "tax-services");
             
-            // Save the updated claim
-            Claim updatedClaim = claimRepository.save(claim);
-            
-            logger.info("✅ Tax calculation completed for claim {}: State=${}, Federal=${}, Total=${}", 
+            logger.debug("✅ Tax calculation completed for claim {}: State=${}, Federal=${}, Total=${}", 
                 request.getClaimId(), request.getStateTaxAmount(), 
                 request.getFederalTaxAmount(), request.getTotalTaxAmount());
             
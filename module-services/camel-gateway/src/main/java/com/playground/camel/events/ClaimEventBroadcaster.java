@@ -0,0 +1,50 @@
+package com.playground.camel.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes dispatched claim events to Server-Sent Events subscribers.
+ */
+@Component
+public class ClaimEventBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimEventBroadcaster.class);
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public SseEmitter subscribe() {
+        // No server-side timeout; the emitter is dropped when the client goes away
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        logger.debug("Claim event subscriber added ({} active)", emitters.size());
+        return emitter;
+    }
+
+    public void broadcast(ClaimEvent event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name(event.getEventType())
+                    .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                logger.debug("Dropped claim event subscriber: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+}
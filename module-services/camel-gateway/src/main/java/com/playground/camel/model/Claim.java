@@ -1,15 +1,32 @@
 package com.playground.camel.model;
 
+import com.playground.camel.service.ClaimChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "claims")
+@EntityListeners(ClaimChangeListener.class)
+@Table(name = "claims", indexes = {
+    // Work-queue lookups (findClaimsReadyFor*, findByStatusCode, findByWorkflowStage)
+    @Index(name = "idx_claims_status_stage", columnList = "status_code, workflow_stage"),
+    // Oldest-first queues per status (findTopClaimsByStatusOrderByReceivedTimestamp, findClaimsForProcessing)
+    @Index(name = "idx_claims_status_received", columnList = "status_code, received_timestamp"),
+    @Index(name = "idx_claims_workflow_stage", columnList = "workflow_stage"),
+    // Stale-claim sweeps
+    @Index(name = "idx_claims_last_updated", columnList = "last_updated"),
+    @Index(name = "idx_claims_employer_id", columnList = "employer_id"),
+    // Keyset pagination order (receivedTimestamp, id)
+    @Index(name = "idx_claims_received_id", columnList = "received_timestamp, id")
+})
 public class Claim {
 
+    // Sequence ids (allocated in blocks) let Hibernate batch INSERTs; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claims_seq")
+    @SequenceGenerator(name = "claims_seq", sequenceName = "claims_seq", allocationSize = 50)
     private Long id;
 
     // Claim reference from source system
@@ -127,10 +144,14 @@ public class Claim {
     @Column(name = "updated_by")
     private String updatedBy;
 
-    // Processing metadata
-    @Column(name = "processing_notes", length = 2000)
+    // Processing metadata - only the latest note; the full trail lives in claim_history
+    @Column(name = "processing_notes", length = ClaimHistory.MAX_NOTE_LENGTH)
     private String processingNotes;
 
+    // History entries added since the last save; ClaimService inserts them after saving the claim
+    @Transient
+    private List<ClaimHistory> pendingHistory = new ArrayList<>();
+
     @Column(name = "error_count")
     private Integer errorCount = 0;
 
@@ -451,6 +472,15 @@ public class Claim {
         this.processingNotes = processingNotes;
     }
 
+    /**
+     * Hand over the history entries added since the last call, for the caller to persist
+     */
+    public List<ClaimHistory> drainPendingHistory() {
+        List<ClaimHistory> entries = this.pendingHistory;
+        this.pendingHistory = new ArrayList<>();
+        return entries;
+    }
+
     public Integer getErrorCount() {
         return errorCount;
     }
@@ -482,11 +512,12 @@ public class Claim {
     }
 
     public void addProcessingNote(String note) {
-        if (this.processingNotes == null) {
-            this.processingNotes = note;
-        } else {
-            this.processingNotes += "\n" + LocalDateTime.now() + ": " + note;
+        if (note == null) {
+            return;
         }
+        ClaimHistory entry = new ClaimHistory(this, note, this.updatedBy != null ? this.updatedBy : this.createdBy);
+        this.pendingHistory.add(entry);
+        this.processingNotes = entry.getNote();
         this.lastUpdated = LocalDateTime.now();
     }
 
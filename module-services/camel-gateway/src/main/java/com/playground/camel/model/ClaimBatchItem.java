@@ -0,0 +1,48 @@
+package com.playground.camel.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One claim travelling through the bulk submission pipeline.
+ *
+ * Carries its position in the submitted batch so results can be reported per
+ * claim, the raw JSON until it is transformed, and the result once known.
+ */
+public class ClaimBatchItem {
+
+    private final int index;
+    private JsonNode source;
+    private Claim claim;
+    private ClaimSubmissionResult result;
+
+    public ClaimBatchItem(int index, JsonNode source) {
+        this.index = index;
+        this.source = source;
+    }
+
+    public boolean isPending() {
+        return result == null && claim != null;
+    }
+
+    public void succeed() {
+        this.result = ClaimSubmissionResult.success(index, claim);
+    }
+
+    public void fail(String message) {
+        String claimReferenceId = claim != null ? claim.getClaimReferenceId()
+            : source != null && source.hasNonNull("claimId") ? source.get("claimId").asText() : null;
+        this.result = ClaimSubmissionResult.failure(index, claimReferenceId, message);
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+
+    public JsonNode getSource() { return source; }
+    public void setSource(JsonNode source) { this.source = source; }
+
+    public Claim getClaim() { return claim; }
+    public void setClaim(Claim claim) { this.claim = claim; }
+
+    public ClaimSubmissionResult getResult() { return result; }
+    public void setResult(ClaimSubmissionResult result) { this.result = result; }
+}
@@ -0,0 +1,69 @@
+package com.playground.camel.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One append-only processing note for a claim.
+ *
+ * Entries are only ever inserted, so recording a note costs one small INSERT
+ * regardless of how much history the claim already has.
+ */
+@Entity
+@Table(name = "claim_history", indexes = {
+    // Per-claim history pages ordered by id
+    @Index(name = "idx_claim_history_claim_id", columnList = "claim_id, id")
+})
+public class ClaimHistory {
+
+    public static final int MAX_NOTE_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_history_seq")
+    @SequenceGenerator(name = "claim_history_seq", sequenceName = "claim_history_seq", allocationSize = 50)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "claim_id", nullable = false, updatable = false)
+    private Claim claim;
+
+    @Column(name = "note", length = MAX_NOTE_LENGTH, nullable = false, updatable = false)
+    private String note;
+
+    @Column(name = "created_by", updatable = false)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ClaimHistory() {}
+
+    public ClaimHistory(Claim claim, String note, String createdBy) {
+        this.claim = claim;
+        if (note == null) {
+            note = "";
+        }
+        this.note = note.length() > MAX_NOTE_LENGTH ? note.substring(0, MAX_NOTE_LENGTH) : note;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Claim getClaim() { return claim; }
+    public void setClaim(Claim claim) { this.claim = claim; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,43 @@
+package com.playground.camel.model;
+
+import java.util.List;
+
+/**
+ * One page of a claim's processing history, oldest first.
+ *
+ * Pass {@code nextAfterId} back as {@code afterId} to fetch the next page.
+ */
+public class ClaimHistoryPage {
+
+    private String claimReferenceId;
+    private List<ClaimHistory> entries;
+    private int size;
+    private boolean hasMore;
+    private Long nextAfterId;
+
+    public ClaimHistoryPage() {}
+
+    public ClaimHistoryPage(String claimReferenceId, List<ClaimHistory> entries, boolean hasMore) {
+        this.claimReferenceId = claimReferenceId;
+        this.entries = entries;
+        this.size = entries.size();
+        this.hasMore = hasMore;
+        this.nextAfterId = hasMore && !entries.isEmpty() ? entries.get(entries.size() - 1).getId() : null;
+    }
+
+    // Getters and Setters
+    public String getClaimReferenceId() { return claimReferenceId; }
+    public void setClaimReferenceId(String claimReferenceId) { this.claimReferenceId = claimReferenceId; }
+
+    public List<ClaimHistory> getEntries() { return entries; }
+    public void setEntries(List<ClaimHistory> entries) { this.entries = entries; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public Long getNextAfterId() { return nextAfterId; }
+    public void setNextAfterId(Long nextAfterId) { this.nextAfterId = nextAfterId; }
+}
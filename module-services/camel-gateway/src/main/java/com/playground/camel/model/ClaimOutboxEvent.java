@@ -0,0 +1,77 @@
+package com.playground.camel.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A claim event waiting in the transactional outbox.
+ *
+ * Rows are written in the same transaction as the claim change they describe,
+ * then picked up in id order by the outbox dispatcher and marked dispatched.
+ */
+@Entity
+@Table(name = "claim_outbox", indexes = {
+    // Dispatcher scan: undispatched events oldest first
+    @Index(name = "idx_claim_outbox_pending", columnList = "dispatched, id"),
+    // Retention purge
+    @Index(name = "idx_claim_outbox_dispatched_at", columnList = "dispatched_at")
+})
+public class ClaimOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_outbox_seq")
+    @SequenceGenerator(name = "claim_outbox_seq", sequenceName = "claim_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "claim_reference_id", nullable = false)
+    private String claimReferenceId;
+
+    // Serialized ClaimEvent; a CLOB, so an event never fails the claim transaction on size
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched", nullable = false)
+    private boolean dispatched = false;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    // Constructors
+    public ClaimOutboxEvent() {}
+
+    public ClaimOutboxEvent(String eventType, String claimReferenceId, String payload) {
+        this.eventType = eventType;
+        this.claimReferenceId = claimReferenceId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getClaimReferenceId() { return claimReferenceId; }
+    public void setClaimReferenceId(String claimReferenceId) { this.claimReferenceId = claimReferenceId; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public boolean isDispatched() { return dispatched; }
+    public void setDispatched(boolean dispatched) { this.dispatched = dispatched; }
+
+    public LocalDateTime getDispatchedAt() { return dispatchedAt; }
+    public void setDispatchedAt(LocalDateTime dispatchedAt) { this.dispatchedAt = dispatchedAt; }
+}
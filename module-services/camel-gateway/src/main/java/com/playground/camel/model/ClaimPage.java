@@ -0,0 +1,61 @@
+package com.playground.camel.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated claim listing.
+ *
+ * The cursor is an opaque token encoding the (receivedTimestamp, id) of the last
+ * claim on the page; pass it back as {@code cursor} to fetch the next page.
+ */
+public class ClaimPage {
+
+    private List<Claim> claims;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public ClaimPage() {}
+
+    public ClaimPage(List<Claim> claims, boolean hasMore) {
+        this.claims = claims;
+        this.size = claims.size();
+        this.hasMore = hasMore;
+        this.nextCursor = hasMore && !claims.isEmpty() ? encodeCursor(claims.get(claims.size() - 1)) : null;
+    }
+
+    // Cursor helpers
+    public static String encodeCursor(Claim claim) {
+        String raw = claim.getReceivedTimestamp() + "|" + claim.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                              Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public record Cursor(LocalDateTime receivedTimestamp, Long id) {}
+
+    // Getters and Setters
+    public List<Claim> getClaims() { return claims; }
+    public void setClaims(List<Claim> claims) { this.claims = claims; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
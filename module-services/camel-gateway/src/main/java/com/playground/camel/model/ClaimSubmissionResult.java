@@ -0,0 +1,61 @@
+package com.playground.camel.model;
+
+/**
+ * Outcome of one claim in a bulk submission, reported back in input order.
+ */
+public class ClaimSubmissionResult {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private int index;
+    private String claimReferenceId;
+    private String status;
+    private String message;
+    private String statusCode;
+    private String workflowStage;
+
+    public ClaimSubmissionResult() {}
+
+    // Static factory methods
+    public static ClaimSubmissionResult success(int index, Claim claim) {
+        ClaimSubmissionResult result = new ClaimSubmissionResult();
+        result.setIndex(index);
+        result.setClaimReferenceId(claim.getClaimReferenceId());
+        result.setStatus(SUCCESS);
+        result.setMessage("Claim received and stored successfully");
+        result.setStatusCode(claim.getStatusCode());
+        result.setWorkflowStage(claim.getWorkflowStage());
+        return result;
+    }
+
+    public static ClaimSubmissionResult failure(int index, String claimReferenceId, String message) {
+        ClaimSubmissionResult result = new ClaimSubmissionResult();
+        result.setIndex(index);
+        result.setClaimReferenceId(claimReferenceId);
+        result.setStatus(ERROR);
+        result.setMessage(message);
+        return result;
+    }
+
+    public boolean isSuccess() { return SUCCESS.equals(status); }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getClaimReferenceId() { return claimReferenceId; }
+    public void setClaimReferenceId(String claimReferenceId) { this.claimReferenceId = claimReferenceId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getStatusCode() { return statusCode; }
+    public void setStatusCode(String statusCode) { this.statusCode = statusCode; }
+
+    public String getWorkflowStage() { return workflowStage; }
+    public void setWorkflowStage(String workflowStage) { this.workflowStage = workflowStage; }
+}
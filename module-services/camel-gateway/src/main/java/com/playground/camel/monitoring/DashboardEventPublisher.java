@@ -0,0 +1,170 @@
+package com.playground.camel.monitoring;
+
+import com.playground.camel.events.ClaimEvent;
+import com.playground.camel.model.ServiceRegistration;
+import com.playground.camel.service.ClaimStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes incremental updates to open dashboards over Server-Sent Events.
+ *
+ * Claim events and service health changes are coalesced into one "claims" and
+ * one "services" message per flush (see the dashboard-event-flusher route), so a
+ * burst of claim activity costs each viewer a single small message instead of a
+ * full reload. The claim total is sent as an absolute value from the same counters
+ * as the snapshot, not as a delta: outbox events arrive up to a poll interval after
+ * the counters move, so a delta could count a claim the snapshot already included.
+ */
+@Component("dashboardEventPublisher")
+public class DashboardEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardEventPublisher.class);
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ClaimStatisticsService claimStatisticsService;
+
+    @Value("${dashboard.events.max-changed-claims:50}")
+    private int maxChangedClaims;
+
+    // Pending changes since the last flush, guarded by this
+    private long sentTotalClaims = -1;
+    private Map<String, Map<String, String>> changedClaims = new LinkedHashMap<>();
+    private Map<String, HealthMonitor.ServiceStatus> changedServices = new LinkedHashMap<>();
+
+    /**
+     * Register a dashboard and send it the current state to apply later deltas to
+     */
+    public SseEmitter subscribe(Map<String, Object> snapshot) {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        emitters.add(emitter);
+        logger.debug("Dashboard subscriber added ({} active)", emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Fold a dispatched claim event into the pending changed claims
+     */
+    public synchronized void recordClaimEvent(ClaimEvent event) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case "CLAIM_RECEIVED":
+            case "CLAIM_STATUS_CHANGED":
+            case "CLAIM_WORKFLOW_ADVANCED":
+                break;
+            default:
+                return;
+        }
+        
+        // Keep only the latest state of the most recently changed claims
+        Map<String, String> claim = changedClaims.remove(event.getClaimReferenceId());
+        if (claim == null) {
+            claim = new HashMap<>();
+            claim.put("claimReferenceId", event.getClaimReferenceId());
+        }
+        if (event.getNewStatus() != null) {
+            claim.put("statusCode", event.getNewStatus());
+        }
+        if (event.getNewWorkflowStage() != null) {
+            claim.put("workflowStage", event.getNewWorkflowStage());
+        }
+        if ("CLAIM_RECEIVED".equals(event.getEventType())) {
+            claim.put("created", "true");
+        }
+        changedClaims.put(event.getClaimReferenceId(), claim);
+        if (changedClaims.size() > maxChangedClaims) {
+            changedClaims.remove(changedClaims.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Queue a service whose registration or health changed
+     */
+    public synchronized void recordServiceChange(ServiceRegistration registration) {
+        recordServiceChange(HealthMonitor.ServiceStatus.from(registration));
+    }
+
+    /**
+     * Queue a service status that already carries its probe results
+     */
+    public synchronized void recordServiceChange(HealthMonitor.ServiceStatus status) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        changedServices.put(status.getId(), status);
+    }
+
+    /**
+     * Send the pending changes to every open dashboard
+     */
+    public void flush() {
+        Map<String, Object> claimsDelta = null;
+        Map<String, Object> servicesDelta = null;
+        
+        synchronized (this) {
+            long totalClaims = claimStatisticsService.getTotalClaims();
+            if (!emitters.isEmpty() && (totalClaims != sentTotalClaims || !changedClaims.isEmpty())) {
+                claimsDelta = new HashMap<>();
+                claimsDelta.put("totalClaims", totalClaims);
+                claimsDelta.put("changedClaims", changedClaims.values());
+                sentTotalClaims = totalClaims;
+                changedClaims = new LinkedHashMap<>();
+            }
+            if (!changedServices.isEmpty()) {
+                servicesDelta = new HashMap<>();
+                servicesDelta.put("services", changedServices);
+                servicesDelta.put("timestamp", LocalDateTime.now());
+                changedServices = new LinkedHashMap<>();
+            }
+        }
+        
+        if (claimsDelta != null) {
+            send("claims", claimsDelta);
+        }
+        if (servicesDelta != null) {
+            send("services", servicesDelta);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private void send(String name, Object data) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                logger.debug("Dropped dashboard subscriber: {}", e.getMessage());
+            }
+        }
+    }
+}
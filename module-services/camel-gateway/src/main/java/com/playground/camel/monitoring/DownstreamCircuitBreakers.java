@@ -0,0 +1,159 @@
+package com.playground.camel.monitoring;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One circuit breaker per downstream, keyed by serviceId (or interface name for dynamic routes).
+ *
+ * Routes reference the breaker by name from Camel's circuitBreaker() EIP and add a bulkhead
+ * of the downstream's size. Settings come from downstream.* with per-key overrides
+ * (downstream.&lt;key&gt;.max-concurrent-calls=...). A breaker whose service HealthMonitor reports
+ * DOWN is forced open, so callers fail fast before any request has to time out.
+ */
+@Component("downstreamCircuitBreakers")
+public class DownstreamCircuitBreakers {
+
+    private static final Logger logger = LoggerFactory.getLogger(DownstreamCircuitBreakers.class);
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    @Autowired
+    private Environment environment;
+
+    private final CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+
+    /**
+     * Name under which the key's breaker is bound in the Camel registry, creating it on first use
+     */
+    public String circuitBreakerRef(String key) {
+        String ref = "circuitBreaker-" + key;
+        CircuitBreaker circuitBreaker = registry.find(key).orElseGet(() -> createCircuitBreaker(key));
+        camelContext.getRegistry().bind(ref, CircuitBreaker.class, circuitBreaker);
+        return ref;
+    }
+
+    private synchronized CircuitBreaker createCircuitBreaker(String key) {
+        return registry.find(key).orElseGet(() -> {
+            CircuitBreaker circuitBreaker = registry.circuitBreaker(key, configFor(key));
+            circuitBreaker.getEventPublisher().onStateTransition(event ->
+                logger.warn("⚡ Circuit breaker {}: {}", key, event.getStateTransition()));
+            return circuitBreaker;
+        });
+    }
+
+    private CircuitBreakerConfig configFor(String key) {
+        return CircuitBreakerConfig.custom()
+            .failureRateThreshold(setting(key, "failure-rate-threshold", Float.class, 50f))
+            .slowCallRateThreshold(setting(key, "slow-call-rate-threshold", Float.class, 80f))
+            .slowCallDurationThreshold(Duration.ofMillis(setting(key, "slow-call-duration", Long.class, 3000L)))
+            .slidingWindowSize(setting(key, "sliding-window-size", Integer.class, 20))
+            .minimumNumberOfCalls(setting(key, "minimum-calls", Integer.class, 10))
+            .waitDurationInOpenState(Duration.ofMillis(getOpenDurationMs(key)))
+            .permittedNumberOfCallsInHalfOpenState(setting(key, "half-open-calls", Integer.class, 3))
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            // A 4xx is a bad request from the caller, not a failing downstream
+            .recordException(error -> !(error instanceof HttpOperationFailedException failed) || failed.getStatusCode() >= 500)
+            .build();
+    }
+
+    public int getMaxConcurrentCalls(String key) {
+        return setting(key, "max-concurrent-calls", Integer.class, 25);
+    }
+
+    /**
+     * How long a call waits for a bulkhead slot; 0 rejects at once when the downstream is saturated
+     */
+    public int getMaxWaitMs(String key) {
+        return setting(key, "max-wait", Integer.class, 0);
+    }
+
+    public long getOpenDurationMs(String key) {
+        return setting(key, "wait-in-open", Long.class, 10000L);
+    }
+
+    private <T> T setting(String key, String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty("downstream." + key + "." + name, type);
+        return value != null ? value : environment.getProperty("downstream." + name, type, defaultValue);
+    }
+
+    /**
+     * For endpoints called with throwExceptionOnFailure=false: turn a 5xx response into a failure the
+     * breaker records and the fallback answers. 4xx responses (invalid queries) pass through unchanged.
+     */
+    public Processor failOnServerError() {
+        return exchange -> {
+            Integer status = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+            if (status != null && status >= 500) {
+                throw new HttpOperationFailedException(exchange.getProperty(Exchange.TO_ENDPOINT, String.class), status,
+                    exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_TEXT, String.class), null, null,
+                    exchange.getMessage().getBody(String.class));
+            }
+        };
+    }
+
+    /**
+     * Fast-fail response for an open circuit, a full bulkhead or a failed call: 503 with a
+     * GraphQL-shaped error body and Retry-After
+     */
+    public Processor fallback(String key) {
+        String body = "{\"data\":null,\"errors\":[{\"message\":\"" + key + " is unavailable, try again later\"}]}";
+        String retryAfter = Long.toString(Math.max(1, getOpenDurationMs(key) / 1000));
+        return exchange -> {
+            Throwable cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Throwable.class);
+            logger.debug("⚡ Fallback for {}: {}", key, cause != null ? cause.toString() : "circuit open");
+            exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+            exchange.getMessage().setHeader("Retry-After", retryAfter);
+            exchange.getMessage().setBody(body);
+        };
+    }
+
+    /**
+     * Force open the breakers of services HealthMonitor reports DOWN, and close them again once
+     * they are back. Breakers opened by failed calls are left to their own recovery.
+     */
+    public void applyHealth() {
+        if (registry.getAllCircuitBreakers().isEmpty()) {
+            return;
+        }
+        Map<String, HealthMonitor.ServiceStatus> statuses = healthMonitor.getServiceStatuses();
+        for (CircuitBreaker circuitBreaker : registry.getAllCircuitBreakers()) {
+            HealthMonitor.ServiceStatus status = statuses.get(circuitBreaker.getName());
+            if (status == null) {
+                // Not a registered service: the breaker works from call outcomes alone
+                continue;
+            }
+            boolean down = status.getHealth() == HealthMonitor.ServiceHealth.DOWN;
+            CircuitBreaker.State state = circuitBreaker.getState();
+            if (down && state != CircuitBreaker.State.FORCED_OPEN) {
+                logger.warn("⚡ {} reported DOWN, opening its circuit", circuitBreaker.getName());
+                circuitBreaker.transitionToForcedOpenState();
+            } else if (!down && state == CircuitBreaker.State.FORCED_OPEN) {
+                logger.info("✅ {} healthy again, closing its circuit", circuitBreaker.getName());
+                circuitBreaker.transitionToClosedState();
+            }
+        }
+    }
+
+    public CircuitBreaker.State getState(String key) {
+        return registry.find(key).map(CircuitBreaker::getState).orElse(null);
+    }
+}
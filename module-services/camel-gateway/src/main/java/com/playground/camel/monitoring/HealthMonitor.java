@@ -1,11 +1,13 @@
 package com.playground.camel.monitoring;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.playground.camel.model.ServiceRegistration;
 import com.playground.camel.service.ServiceRegistrationService;
+import com.playground.camel.transformers.JsonCodecs;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -15,12 +17,19 @@ public class HealthMonitor {
 
     @Autowired
     private ServiceRegistrationService serviceRegistrationService;
+
+    @Autowired
+    private HealthProbeEngine healthProbeEngine;
     
-    private final ObjectMapper objectMapper;
+    private final JsonCodecs jsonCodecs;
+
+    // Distinguishes ETags issued before and after a restart, when the versions start over
+    private final String etagEpoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile StatusSnapshot statusSnapshot;
 
-    // Inject Spring's auto-configured ObjectMapper
-    public HealthMonitor(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    // Writers built from Spring's auto-configured ObjectMapper
+    public HealthMonitor(JsonCodecs jsonCodecs) {
+        this.jsonCodecs = jsonCodecs;
     }
 
     public void checkAllServices() {
@@ -29,36 +38,57 @@ public class HealthMonitor {
     }
 
     public String getCurrentStatus() throws Exception {
-        Map<String, Object> status = new HashMap<>();
-        status.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        status.put("camelStatus", "RUNNING");
-        status.put("activeConnections", serviceRegistrationService.countActiveServices());
-        
+        return new String(getStatusSnapshot().getJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pre-serialized status document, rebuilt when a registration, health state, heartbeat or probe
+     * result changed; between changes clients get the same document and ETag (304 on revalidation)
+     */
+    public StatusSnapshot getStatusSnapshot() throws JsonProcessingException {
+        StatusSnapshot snapshot = statusSnapshot;
+        if (snapshot != null && snapshot.isCurrent(serviceRegistrationService.getStatusVersion(), healthProbeEngine.getResultsVersion())) {
+            return snapshot;
+        }
+        synchronized (this) {
+            // Read the versions before building, so a change made during the build triggers another rebuild
+            long registryVersion = serviceRegistrationService.getStatusVersion();
+            long probeVersion = healthProbeEngine.getResultsVersion();
+            snapshot = statusSnapshot;
+            if (snapshot != null && snapshot.isCurrent(registryVersion, probeVersion)) {
+                return snapshot;
+            }
+
+            Map<String, Object> status = new HashMap<>();
+            status.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            status.put("camelStatus", "RUNNING");
+            status.put("activeConnections", serviceRegistrationService.countActiveServices());
+            status.put("services", getServiceStatuses());
+
+            byte[] json = jsonCodecs.getMapWriter().writeValueAsBytes(status);
+            String etag = "\"" + etagEpoch + "-" + registryVersion + "-" + probeVersion + "\"";
+            statusSnapshot = new StatusSnapshot(registryVersion, probeVersion, etag, json);
+            return statusSnapshot;
+        }
+    }
+
+    public Map<String, ServiceStatus> getServiceStatuses() {
         // Get all registered services
         List<ServiceRegistration> registrations = serviceRegistrationService.getAllServices();
         Map<String, ServiceStatus> services = new HashMap<>();
         
         for (ServiceRegistration reg : registrations) {
-            ServiceStatus serviceStatus = new ServiceStatus(
-                reg.getServiceId(),
-                reg.getName(),
-                reg.getTechnology(),
-                reg.getProtocol(),
-                reg.getEndpoint(),
-                mapHealthStatus(reg.getStatus()),
-                reg.getLastMessage() != null ? reg.getLastMessage() : "Service registered"
-            );
-            serviceStatus.setLastChecked(reg.getLastHeartbeat());
+            ServiceStatus serviceStatus = ServiceStatus.from(reg);
+            HealthProbeEngine.ProbeResult probe = healthProbeEngine.getResult(reg.getServiceId());
+            if (probe != null) {
+                serviceStatus.withProbe(probe, healthProbeEngine.getLatencyPercentiles(reg.getServiceId()));
+            }
             services.put(reg.getServiceId(), serviceStatus);
         }
-        
-        status.put("services", services);
-
-        // Now this will use Spring's configured ObjectMapper with LocalDateTime support
-        return objectMapper.writeValueAsString(status);
+        return services;
     }
 
-    private ServiceHealth mapHealthStatus(String status) {
+    private static ServiceHealth mapHealthStatus(String status) {
         switch (status.toUpperCase()) {
             case "UP": return ServiceHealth.UP;
             case "DOWN": return ServiceHealth.DOWN;
@@ -81,6 +111,10 @@ public class HealthMonitor {
         private ServiceHealth health;
         private String message;
         private LocalDateTime lastChecked;
+        private Integer probeStatusCode;
+        private Long probeLatencyMs;
+        private LocalDateTime lastProbed;
+        private Map<String, Double> probeLatencyPercentiles;
 
         public ServiceStatus(String id, String name, String technology, String protocol, String endpoint, ServiceHealth health, String message) {
             this.id = id;
@@ -93,6 +127,35 @@ public class HealthMonitor {
             this.lastChecked = LocalDateTime.now();
         }
 
+        public static ServiceStatus from(ServiceRegistration reg) {
+            ServiceStatus serviceStatus = new ServiceStatus(
+                reg.getServiceId(),
+                reg.getName(),
+                reg.getTechnology(),
+                reg.getProtocol(),
+                reg.getEndpoint(),
+                mapHealthStatus(reg.getStatus()),
+                reg.getLastMessage() != null ? reg.getLastMessage() : "Service registered"
+            );
+            serviceStatus.setLastChecked(reg.getLastHeartbeat());
+            return serviceStatus;
+        }
+
+        /**
+         * Overlay the latest active probe; a failed probe marks a heartbeating service DOWN
+         */
+        public ServiceStatus withProbe(HealthProbeEngine.ProbeResult probe, Map<String, Double> latencyPercentiles) {
+            this.probeStatusCode = probe.getStatusCode();
+            this.probeLatencyMs = probe.getLatencyMs();
+            this.lastProbed = probe.getProbedAt();
+            this.probeLatencyPercentiles = latencyPercentiles;
+            if (!probe.isHealthy() && health == ServiceHealth.UP) {
+                this.health = ServiceHealth.DOWN;
+                this.message = probe.getMessage();
+            }
+            return this;
+        }
+
         // Getters and setters
         public String getId() { return id; }
         public void setId(String id) { this.id = id; }
@@ -117,6 +180,53 @@ public class HealthMonitor {
 
         public LocalDateTime getLastChecked() { return lastChecked; }
         public void setLastChecked(LocalDateTime lastChecked) { this.lastChecked = lastChecked; }
+
+        public Integer getProbeStatusCode() { return probeStatusCode; }
+        public Long getProbeLatencyMs() { return probeLatencyMs; }
+        public LocalDateTime getLastProbed() { return lastProbed; }
+        public Map<String, Double> getProbeLatencyPercentiles() { return probeLatencyPercentiles; }
+    }
+
+    public static class StatusSnapshot {
+        private final long registryVersion;
+        private final long probeVersion;
+        private final String etag;
+        private final byte[] json;
+
+        StatusSnapshot(long registryVersion, long probeVersion, String etag, byte[] json) {
+            this.registryVersion = registryVersion;
+            this.probeVersion = probeVersion;
+            this.etag = etag;
+            this.json = json;
+        }
+
+        boolean isCurrent(long registryVersion, long probeVersion) {
+            return this.registryVersion == registryVersion && this.probeVersion == probeVersion;
+        }
+
+        /**
+         * Whether an If-None-Match header value names this snapshot
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public String getETag() { return etag; }
+
+        // Shared, never modified; callers must not write to it
+        public byte[] getJson() { return json; }
     }
 
     public enum ServiceHealth {
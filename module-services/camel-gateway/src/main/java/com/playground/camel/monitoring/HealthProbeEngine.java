@@ -0,0 +1,227 @@
+package com.playground.camel.monitoring;
+
+import com.playground.camel.model.ServiceRegistration;
+import com.playground.camel.service.ServiceRegistrationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Actively probes the healthEndpoint of every registered service.
+ *
+ * All probes of a round are issued concurrently through the async HttpClient, each
+ * with its own timeout and a random start jitter, so a round takes about as long as
+ * the slowest probe. Latency is recorded per service in a Micrometer timer.
+ */
+@Component("healthProbeEngine")
+public class HealthProbeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthProbeEngine.class);
+
+    @Autowired
+    private ServiceRegistrationService serviceRegistrationService;
+
+    @Autowired
+    private DashboardEventPublisher dashboardEventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${health.probe.timeout:2000}")
+    private long timeoutMs;
+
+    @Value("${health.probe.jitter:500}")
+    private long jitterMs;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .executor(executor)
+        .connectTimeout(Duration.ofSeconds(2))
+        .build();
+
+    private final Map<String, ProbeResult> results = new ConcurrentHashMap<>();
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    // Bumped on every recorded probe; each one carries a new latency and probe time
+    private final AtomicLong resultsVersion = new AtomicLong();
+
+    /**
+     * Probe all services that registered a healthEndpoint and wait for the round to finish
+     */
+    public void probeAll() {
+        List<CompletableFuture<ProbeResult>> probes = new ArrayList<>();
+        for (ServiceRegistration service : serviceRegistrationService.getAllServices()) {
+            String healthEndpoint = service.getHealthEndpoint();
+            if (healthEndpoint == null || healthEndpoint.isBlank()) {
+                continue;
+            }
+            probes.add(probe(service.getServiceId(), healthEndpoint));
+        }
+        if (probes.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        // Every probe completes on its own timeout, so this never waits longer than jitter + timeout
+        CompletableFuture.allOf(probes.toArray(new CompletableFuture[0])).join();
+
+        long unhealthy = probes.stream().map(CompletableFuture::join).filter(result -> !result.isHealthy()).count();
+        logger.debug("Probed {} services in {} ms ({} unhealthy)",
+            probes.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), unhealthy);
+
+        // Forget services that were unregistered since the last round
+        results.keySet().removeIf(serviceId -> serviceRegistrationService.getService(serviceId).isEmpty());
+    }
+
+    private CompletableFuture<ProbeResult> probe(String serviceId, String healthEndpoint) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(healthEndpoint))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(record(serviceId, ProbeResult.failed(0, "Invalid health endpoint: " + healthEndpoint)));
+        }
+
+        // Spread the round over the jitter window so probes don't hit the network in one burst
+        long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs) : 0;
+        return CompletableFuture.supplyAsync(System::nanoTime, CompletableFuture.delayedExecutor(jitter, TimeUnit.MILLISECONDS, executor))
+            .thenCompose(sent -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+                    latencyTimer(serviceId).record(latencyMs, TimeUnit.MILLISECONDS);
+                    if (error != null) {
+                        return ProbeResult.failed(latencyMs, describe(error));
+                    }
+                    return ProbeResult.of(response.statusCode(), latencyMs);
+                }))
+            .thenApply(result -> record(serviceId, result));
+    }
+
+    private ProbeResult record(String serviceId, ProbeResult result) {
+        ProbeResult previous = results.put(serviceId, result);
+        resultsVersion.incrementAndGet();
+        boolean wasHealthy = previous == null || previous.isHealthy();
+        if (wasHealthy == result.isHealthy()) {
+            return result;
+        }
+        if (result.isHealthy()) {
+            logger.info("Health probe recovered for {}", serviceId);
+        } else {
+            logger.warn("Health probe failed for {}: {}", serviceId, result.getMessage());
+        }
+        serviceRegistrationService.getService(serviceId).ifPresent(registration ->
+            dashboardEventPublisher.recordServiceChange(
+                HealthMonitor.ServiceStatus.from(registration).withProbe(result, getLatencyPercentiles(serviceId))));
+        return result;
+    }
+
+    private Timer latencyTimer(String serviceId) {
+        return latencyTimers.computeIfAbsent(serviceId, id -> Timer.builder("gateway.health.probe.latency")
+            .description("Latency of active health probes against registered services")
+            .tag("service", id)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            return "Health probe timed out";
+        }
+        return "Health probe failed: " + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+    }
+
+    public long getResultsVersion() {
+        return resultsVersion.get();
+    }
+
+    /**
+     * Latest probe result for a service, or null if it has not been probed yet
+     */
+    public ProbeResult getResult(String serviceId) {
+        return results.get(serviceId);
+    }
+
+    /**
+     * Probe latency percentiles (ms) for a service, keyed by "p50", "p95" and "p99"
+     */
+    public Map<String, Double> getLatencyPercentiles(String serviceId) {
+        Timer timer = latencyTimers.get(serviceId);
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        if (timer == null) {
+            return percentiles;
+        }
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+        }
+        return percentiles;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class ProbeResult {
+        private final boolean healthy;
+        private final int statusCode;
+        private final long latencyMs;
+        private final String message;
+        private final LocalDateTime probedAt = LocalDateTime.now();
+
+        private ProbeResult(boolean healthy, int statusCode, long latencyMs, String message) {
+            this.healthy = healthy;
+            this.statusCode = statusCode;
+            this.latencyMs = latencyMs;
+            this.message = message;
+        }
+
+        static ProbeResult of(int statusCode, long latencyMs) {
+            boolean healthy = statusCode >= 200 && statusCode < 300;
+            return new ProbeResult(healthy, statusCode, latencyMs,
+                healthy ? "Health probe OK" : "Health probe returned HTTP " + statusCode);
+        }
+
+        static ProbeResult failed(long latencyMs, String message) {
+            return new ProbeResult(false, 0, latencyMs, message);
+        }
+
+        public boolean isHealthy() { return healthy; }
+        public int getStatusCode() { return statusCode; }
+        public long getLatencyMs() { return latencyMs; }
+        public String getMessage() { return message; }
+        public LocalDateTime getProbedAt() { return probedAt; }
+    }
+}
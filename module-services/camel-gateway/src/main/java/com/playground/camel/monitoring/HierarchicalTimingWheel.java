@@ -0,0 +1,168 @@
+package com.playground.camel.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel for per-key deadlines.
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above
+ * covers {@code wheelSize} times the span of the level below. Scheduling and
+ * advancing by one tick are O(1) apart from the entries that actually expire or
+ * cascade down a level, so the cost of a sweep does not depend on how many keys
+ * are scheduled. Rescheduling a key simply records its new deadline; the stale
+ * entry is discarded when its bucket comes round.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<List<Entry<K>>[]> levels = new ArrayList<>();
+    // Latest deadline tick per key; entries that do not match it have been rescheduled or cancelled
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private final List<Entry<K>> overdue = new ArrayList<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        for (int i = 0; i < levelCount; i++) {
+            levels.add(newBuckets(wheelSize));
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedule (or reschedule) a key to expire at the given time
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        long deadlineTick = ceilDiv(deadlineMs, tickMs);
+        deadlines.put(key, deadlineTick);
+        insert(new Entry<>(key, deadlineTick));
+    }
+
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    /**
+     * Advance the wheel to the given time and return the keys whose deadline has passed
+     */
+    public synchronized List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        
+        List<Entry<K>> due = new ArrayList<>(overdue);
+        overdue.clear();
+        for (Entry<K> entry : due) {
+            expire(entry, expired);
+        }
+        
+        long targetTick = nowMs / tickMs;
+        while (currentTick < targetTick) {
+            currentTick++;
+            
+            // Cascade higher levels first so their entries land in the lower buckets due now
+            for (int level = levels.size() - 1; level > 0; level--) {
+                long bucketSpan = span(level);
+                if (currentTick % bucketSpan == 0) {
+                    List<Entry<K>> bucket = levels.get(level)[(int) ((currentTick / bucketSpan) % wheelSize)];
+                    List<Entry<K>> cascading = new ArrayList<>(bucket);
+                    bucket.clear();
+                    for (Entry<K> entry : cascading) {
+                        if (isCurrent(entry)) {
+                            insert(entry);
+                        }
+                    }
+                }
+            }
+            
+            List<Entry<K>> bucket = levels.get(0)[(int) (currentTick % wheelSize)];
+            List<Entry<K>> draining = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<K> entry : draining) {
+                expire(entry, expired);
+            }
+            
+            // Anything inserted as overdue while cascading expires in this same tick
+            if (!overdue.isEmpty()) {
+                List<Entry<K>> late = new ArrayList<>(overdue);
+                overdue.clear();
+                for (Entry<K> entry : late) {
+                    expire(entry, expired);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private void insert(Entry<K> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+        
+        for (int level = 0; level < levels.size(); level++) {
+            long bucketSpan = span(level);
+            if (delta < bucketSpan * wheelSize) {
+                levels.get(level)[(int) ((entry.deadlineTick / bucketSpan) % wheelSize)].add(entry);
+                return;
+            }
+        }
+        
+        // Beyond the top level: park it in the furthest top-level bucket; it is re-inserted when that bucket cascades
+        int top = levels.size() - 1;
+        long topSpan = span(top);
+        long parkedTick = currentTick + topSpan * (wheelSize - 1);
+        levels.get(top)[(int) ((parkedTick / topSpan) % wheelSize)].add(entry);
+    }
+
+    private void expire(Entry<K> entry, List<K> expired) {
+        if (!isCurrent(entry)) {
+            return;
+        }
+        if (entry.deadlineTick > currentTick) {
+            insert(entry);
+            return;
+        }
+        deadlines.remove(entry.key);
+        expired.add(entry.key);
+    }
+
+    private boolean isCurrent(Entry<K> entry) {
+        Long deadlineTick = deadlines.get(entry.key);
+        return deadlineTick != null && deadlineTick == entry.deadlineTick;
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> List<Entry<K>>[] newBuckets(int wheelSize) {
+        List<Entry<K>>[] buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        return buckets;
+    }
+
+    private record Entry<K>(K key, long deadlineTick) {}
+}
@@ -0,0 +1,44 @@
+package com.playground.camel.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-target gauges for the outbound HTTP connection pool (gateway.outbound.http.pool.connections,
+ * tagged target and state). Targets appear as routes first use them, so the rows are refreshed
+ * on a timer (see the outbound-http-pool-metrics route).
+ */
+@Component("outboundHttpPoolMetrics")
+public class OutboundHttpPoolMetrics {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final MultiGauge connections;
+
+    public OutboundHttpPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager, MeterRegistry meterRegistry) {
+        this.connectionManager = outboundConnectionManager;
+        this.connections = MultiGauge.builder("gateway.outbound.http.pool.connections")
+            .description("Outbound HTTP connections per target host")
+            .register(meterRegistry);
+    }
+
+    public void refresh() {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            String target = route.getTargetHost().toHostString();
+            PoolStats stats = connectionManager.getStats(route);
+            rows.add(MultiGauge.Row.of(Tags.of("target", target, "state", "leased"), stats.getLeased()));
+            rows.add(MultiGauge.Row.of(Tags.of("target", target, "state", "available"), stats.getAvailable()));
+            rows.add(MultiGauge.Row.of(Tags.of("target", target, "state", "pending"), stats.getPending()));
+            rows.add(MultiGauge.Row.of(Tags.of("target", target, "state", "max"), stats.getMax()));
+        }
+        connections.register(rows, true);
+    }
+}
@@ -0,0 +1,35 @@
+package com.playground.camel.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Head-sampled hop logging.
+ *
+ * DEBUG events from the configured logger prefix are written only while the current
+ * trace is sampled; inside an unsampled trace they are denied before any message is
+ * formatted. Outside a trace the normal logger levels apply.
+ */
+public class SampledTraceTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.playground.camel";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (MDC.get("traceId") == null) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get("sampled")) ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -0,0 +1,18 @@
+package com.playground.camel.repository;
+
+import com.playground.camel.model.ClaimHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClaimHistoryRepository extends JpaRepository<ClaimHistory, Long> {
+    
+    // Keyset pagination over one claim's history, oldest first
+    @Query("SELECT h FROM ClaimHistory h WHERE h.claim.id = :claimId AND h.id > :afterId ORDER BY h.id ASC")
+    List<ClaimHistory> findPageAfter(@Param("claimId") Long claimId, @Param("afterId") Long afterId, Pageable pageable);
+}
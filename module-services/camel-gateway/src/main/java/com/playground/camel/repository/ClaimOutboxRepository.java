@@ -0,0 +1,28 @@
+package com.playground.camel.repository;
+
+import com.playground.camel.model.ClaimOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ClaimOutboxRepository extends JpaRepository<ClaimOutboxEvent, Long> {
+    
+    @Query("SELECT e FROM ClaimOutboxEvent e WHERE e.dispatched = false ORDER BY e.id ASC")
+    List<ClaimOutboxEvent> findPending(Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE ClaimOutboxEvent e SET e.dispatched = true, e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+    
+    @Modifying
+    @Query("DELETE FROM ClaimOutboxEvent e WHERE e.dispatched = true AND e.dispatchedAt < :cutoffTime")
+    int deleteDispatchedBefore(@Param("cutoffTime") LocalDateTime cutoffTime);
+}
@@ -2,11 +2,14 @@ package com.playground.camel.repository;
 
 import com.playground.camel.model.ServiceRegistration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +27,12 @@ public interface ServiceRegistrationRepository extends JpaRepository<ServiceRegi
     
     @Query("SELECT COUNT(s) FROM ServiceRegistration s WHERE s.status = 'UP'")
     long countActiveServices();
+    
+    // Set-based stale sweep: one statement for every expired service
+    @Transactional
+    @Modifying
+    @Query("UPDATE ServiceRegistration s SET s.status = 'DOWN', s.lastMessage = :message, s.lastUpdated = :now " +
+           "WHERE s.serviceId IN :serviceIds AND s.status = 'UP'")
+    int markServicesDown(@Param("serviceIds") Collection<String> serviceIds, @Param("message") String message,
+                         @Param("now") LocalDateTime now);
 }
\ No newline at end of file
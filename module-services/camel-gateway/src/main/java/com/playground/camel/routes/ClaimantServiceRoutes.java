@@ -1,23 +1,83 @@
 package com.playground.camel.routes;
 
+import com.playground.camel.monitoring.DownstreamCircuitBreakers;
+import com.playground.camel.service.GraphQLBatcher;
+import com.playground.camel.service.GraphQLResponseCache;
+import com.playground.camel.service.PersistedQueryRegistry;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.rest.RestBindingMode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ClaimantServiceRoutes extends RouteBuilder {
 
+    // Circuit breaker / bulkhead key: the serviceId claimant-services registers under
+    private static final String CLAIMANT_SERVICES = "claimant-services";
+
+    @Autowired
+    private DownstreamCircuitBreakers downstreamCircuitBreakers;
+
+    @Autowired
+    private GraphQLResponseCache graphqlResponseCache;
+
+    @Autowired
+    private PersistedQueryRegistry persistedQueryRegistry;
+
+    @Autowired
+    private GraphQLBatcher graphqlBatcher;
+
     @Override
     public void configure() throws Exception {
         
         // GraphQL forwarding route for direct GraphQL requests to claimant-services
         from("direct:claimantServiceGraphQL")
             .routeId("claimant-service-graphql")
-            .log("Routing GraphQL request to claimant-services: ${body}")
+            .routeGroup("claimant-services")
+            .log(LoggingLevel.DEBUG, "Routing GraphQL request to claimant-services")
             .removeHeaders("CamelHttp*") // Remove any existing HTTP headers
             .setHeader("Content-Type", constant("application/json"))
             .setHeader("Accept", constant("application/json"))
-            .to("http://claimant-services:3000/graphql")
-            .log("Received response from claimant-services");
+            // Persisted-query hashes are swapped for the registered query text
+            .process(persistedQueryRegistry.resolve())
+            .filter(exchangeProperty(PersistedQueryRegistry.RESPONDED))
+                .stop()
+            .end()
+            // Identical read-only queries are answered from the gateway cache
+            .process(graphqlResponseCache.lookup(CLAIMANT_SERVICES))
+            .filter(exchangeProperty(GraphQLResponseCache.CACHE_HIT))
+                .log(LoggingLevel.DEBUG, "GraphQL response served from cache")
+                .stop()
+            .end()
+            .choice()
+                .when(method("graphqlBatcher", "isEnabled"))
+                    .process(graphqlBatcher.forward(CLAIMANT_SERVICES, "direct:claimantServiceGraphQLUpstream"))
+                .otherwise()
+                    .to("direct:claimantServiceGraphQLUpstream")
+            .end()
+            .process(graphqlResponseCache.store());
+
+        // One upstream request to claimant-services: a single operation or a batch from GraphQLBatcher
+        from("direct:claimantServiceGraphQLUpstream")
+            .routeId("claimant-service-graphql-upstream")
+            .routeGroup("claimant-services")
+            // A slow or failing claimant-services holds at most max-concurrent-calls servlet threads;
+            // the rest fail fast with a 503 instead of waiting for the read timeout
+            .circuitBreaker()
+                .resilience4jConfiguration()
+                    .circuitBreaker(downstreamCircuitBreakers.circuitBreakerRef(CLAIMANT_SERVICES))
+                    .bulkheadEnabled(true)
+                    .bulkheadMaxConcurrentCalls(downstreamCircuitBreakers.getMaxConcurrentCalls(CLAIMANT_SERVICES))
+                    .bulkheadMaxWaitDuration(downstreamCircuitBreakers.getMaxWaitMs(CLAIMANT_SERVICES))
+                .end()
+                // 4xx answers to bad queries go back to the client as they are; only 5xx counts as a failure
+                .to("{{claimant.services.graphql-url}}?throwExceptionOnFailure=false")
+                .process(downstreamCircuitBreakers.failOnServerError())
+                .log(LoggingLevel.DEBUG, "Received response from claimant-services")
+            .onFallback()
+                .process(downstreamCircuitBreakers.fallback(CLAIMANT_SERVICES))
+            .end();
 
         // Create a REST endpoint that will front the GraphQL service
         rest("/claimant")
@@ -29,6 +89,9 @@ public class ClaimantServiceRoutes extends RouteBuilder {
             // Forward all POST requests to the GraphQL endpoint
             .post("/graphql")
                 .description("GraphQL endpoint for Claimant Services")
+                // Requests and responses pass through as JSON text; the cache, persisted queries and
+                // batching all read the raw request body
+                .bindingMode(RestBindingMode.off)
                 .to("direct:claimantServiceGraphQL");
 
         // Note: The old processClaim route has been removed because we now handle
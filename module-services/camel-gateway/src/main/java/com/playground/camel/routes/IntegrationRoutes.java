@@ -1,8 +1,14 @@
 package com.playground.camel.routes;
 
+import com.playground.camel.model.ClaimSubmissionResult;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class IntegrationRoutes extends RouteBuilder {
 
@@ -12,15 +18,15 @@ public class IntegrationRoutes extends RouteBuilder {
         // Main processing route - now saves to database instead of forwarding
         from("direct:processSubmission")
             .routeId("submission-processor")
-            .log("📥 Received claim submission: ${body}")
+            .log(LoggingLevel.DEBUG, "📥 Received claim submission")
             .doTry()
                 // Transform the incoming JSON to our standardized Claim entity
                 .bean("dataTransformer", "transformClaimantServicesClaim")
-                .log("✅ Transformed claim data successfully")
+                .log(LoggingLevel.DEBUG, "✅ Transformed claim data successfully")
                 
                 // Save the claim to our database
                 .bean("claimService", "createClaim")
-                .log("💾 Saved claim to database: ${body.claimReferenceId}")
+                .log(LoggingLevel.DEBUG, "💾 Saved claim to database: ${body.claimReferenceId}")
                 
                 // Prepare success response
                 .setBody(simple("{ \"status\": \"success\", \"claimReferenceId\": \"${body.claimReferenceId}\", \"message\": \"Claim received and stored successfully\", \"statusCode\": \"${body.statusCode}\", \"workflowStage\": \"${body.workflowStage}\" }"))
@@ -32,16 +38,78 @@ public class IntegrationRoutes extends RouteBuilder {
                 .setHeader("Content-Type", constant("application/json"))
             .end();
 
+        // Bulk ingestion - claims are split into batches, each stored with one existence
+        // check and batched inserts, and the per-claim results are aggregated in input order
+        from("direct:processBulkSubmission")
+            .routeId("bulk-submission-processor")
+            .log(LoggingLevel.DEBUG, "📥 Received bulk claim submission")
+            .split(method("dataTransformer", "splitClaimBatches"), IntegrationRoutes::collectSubmissionResults)
+                .streaming()
+                .bean("dataTransformer", "transformClaimBatch")
+                .doTry()
+                    .bean("claimService", "createClaims")
+                .doCatch(Exception.class)
+                    .log("❌ Error storing claim batch: ${exception.message}")
+                    .bean("claimService", "rejectClaims(${body}, ${exception.message})")
+                .end()
+            .end()
+            .log(LoggingLevel.DEBUG, "✅ Bulk claim submission processed");
+
         // Health check routes for service monitoring
-        from("timer://healthCheck?period=30000")
+        from("timer://healthCheck?period={{camel.health.check.interval}}")
             .routeId("health-checker")
-            .log("🔍 Running health checks...")
+            .log(LoggingLevel.DEBUG, "🔍 Running health checks...")
             .to("direct:updateServiceStatus");
 
+        // Write-behind for heartbeats recorded in the in-memory service registry
+        from("timer://heartbeatFlush?period={{registry.heartbeat.flush-interval}}")
+            .routeId("heartbeat-flusher")
+            .bean("serviceRegistrationService", "flushHeartbeats");
+
         from("direct:updateServiceStatus")
             .routeId("service-status-updater")
             .bean("healthMonitor", "checkAllServices")
-            .log("✅ Health check completed");
+            // Open the circuits of downstreams that went DOWN, close them once they recover
+            .bean("downstreamCircuitBreakers", "applyHealth")
+            .log(LoggingLevel.DEBUG, "✅ Health check completed");
+
+        // Active probing of registered healthEndpoints (all services in parallel)
+        from("timer://healthProbe?period={{health.probe.interval}}&delay=10000")
+            .routeId("health-prober")
+            .bean("healthProbeEngine", "probeAll");
+
+        // Per-target outbound HTTP pool gauges
+        from("timer://outboundHttpPool?period={{outbound.http.metrics-interval}}")
+            .routeId("outbound-http-pool-metrics")
+            .bean("outboundHttpPoolMetrics", "refresh");
+
+        // Periodically reconcile the live claim counters against the database
+        from("timer://claimStatsReconcile?delay={{claim.stats.reconcile.interval}}&period={{claim.stats.reconcile.interval}}")
+            .routeId("claim-stats-reconciler")
+            .bean("claimStatisticsService", "reconcile");
+
+        // Transactional outbox - publish committed claim events in order
+        from("timer://claimOutbox?period={{claim.outbox.poll-interval}}")
+            .routeId("claim-outbox-dispatcher")
+            .bean("claimEventOutbox", "dispatchPending");
+
+        from("timer://claimOutboxPurge?period=3600000")
+            .routeId("claim-outbox-purger")
+            .bean("claimEventOutbox", "purgeDispatched");
+
+        // Claim event stream - other routes can subscribe to the same endpoint
+        from("{{claim.outbox.endpoint}}")
+            .routeId("claim-event-logger")
+            .log(LoggingLevel.DEBUG, "📣 ${body.eventType} for claim ${body.claimReferenceId}");
+
+        // Dashboard push - fold claim events into deltas and flush them to open dashboards
+        from("{{claim.outbox.endpoint}}")
+            .routeId("dashboard-claim-events")
+            .bean("dashboardEventPublisher", "recordClaimEvent");
+
+        from("timer://dashboardEvents?period={{dashboard.events.flush-interval}}")
+            .routeId("dashboard-event-flusher")
+            .bean("dashboardEventPublisher", "flush");
 
         // Route for getting service status (called by Spring controller)
         from("direct:getServiceStatus")
@@ -54,7 +122,7 @@ public class IntegrationRoutes extends RouteBuilder {
         // Route to get claims by status (for other services to query)
         from("direct:getClaimsByStatus")
             .routeId("get-claims-by-status")
-            .log("🔍 Fetching claims with status: ${header.statusCode}")
+            .log(LoggingLevel.DEBUG, "🔍 Fetching claims with status: ${header.statusCode}")
             .bean("claimService", "getClaimsByStatus(${header.statusCode})")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
@@ -62,21 +130,21 @@ public class IntegrationRoutes extends RouteBuilder {
         // Route to get claims ready for specific processing stages
         from("direct:getClaimsForEmployerVerification")
             .routeId("get-claims-employer-verification")
-            .log("🔍 Fetching claims ready for employer verification")
+            .log(LoggingLevel.DEBUG, "🔍 Fetching claims ready for employer verification")
             .bean("claimService", "getClaimsReadyForEmployerVerification")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
 
         from("direct:getClaimsForTaxCalculation")
             .routeId("get-claims-tax-calculation")
-            .log("🔍 Fetching claims ready for tax calculation")
+            .log(LoggingLevel.DEBUG, "🔍 Fetching claims ready for tax calculation")
             .bean("claimService", "getClaimsReadyForTaxCalculation")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
 
         from("direct:getClaimsForFinalReview")
             .routeId("get-claims-final-review")
-            .log("🔍 Fetching claims ready for final review")
+            .log(LoggingLevel.DEBUG, "🔍 Fetching claims ready for final review")
             .bean("claimService", "getClaimsReadyForFinalReview")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
@@ -84,7 +152,7 @@ public class IntegrationRoutes extends RouteBuilder {
         // Route to update claim status (for other services to use)
         from("direct:updateClaimStatus")
             .routeId("update-claim-status")
-            .log("📝 Updating claim status: ${header.claimReferenceId} -> ${header.statusCode}")
+            .log(LoggingLevel.DEBUG, "📝 Updating claim status: ${header.claimReferenceId} -> ${header.statusCode}")
             .bean("claimService", "updateClaimStatus(${header.claimReferenceId}, ${header.statusCode}, ${header.statusDisplayName}, ${header.updatedBy}, ${header.notes})")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
@@ -92,7 +160,7 @@ public class IntegrationRoutes extends RouteBuilder {
         // Route to advance claim workflow
         from("direct:advanceClaimWorkflow")
             .routeId("advance-claim-workflow")
-            .log("⚡ Advancing workflow for claim: ${header.claimReferenceId}")
+            .log(LoggingLevel.DEBUG, "⚡ Advancing workflow for claim: ${header.claimReferenceId}")
             .bean("claimService", "advanceClaimWorkflow(${header.claimReferenceId}, ${header.updatedBy})")
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
@@ -105,4 +173,15 @@ public class IntegrationRoutes extends RouteBuilder {
             .marshal().json()
             .setHeader("Content-Type", constant("application/json"));
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private static Exchange collectSubmissionResults(Exchange aggregated, Exchange batch) {
+        List<ClaimSubmissionResult> batchResults = batch.getIn().getBody(List.class);
+        if (aggregated == null) {
+            batch.getIn().setBody(new ArrayList<>(batchResults));
+            return batch;
+        }
+        aggregated.getIn().getBody(List.class).addAll(batchResults);
+        return aggregated;
+    }
+}
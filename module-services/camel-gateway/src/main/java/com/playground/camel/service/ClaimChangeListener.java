@@ -0,0 +1,24 @@
+package com.playground.camel.service;
+
+import com.playground.camel.model.Claim;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA callbacks on Claim that feed the ClaimChangeTracker.
+ * Hibernate instantiates this through Spring, which injects the tracker.
+ */
+public class ClaimChangeListener {
+
+    @Autowired
+    private ClaimChangeTracker claimChangeTracker;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void claimChanged(Claim claim) {
+        claimChangeTracker.claimChanged();
+    }
+}
@@ -0,0 +1,105 @@
+package com.playground.camel.service;
+
+import com.playground.camel.model.Claim;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version and last-modified time of the claims collection, used as validators for claim list GETs.
+ *
+ * Bumped once per committed transaction that inserted, updated or deleted a claim
+ * (see ClaimChangeListener). Read the validators before querying, so a response
+ * never carries a version newer than its data.
+ */
+@Component("claimChangeTracker")
+public class ClaimChangeTracker {
+
+    // Distinguishes ETags issued before and after a restart, when the version starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /**
+     * Record a claim change; takes effect when the current transaction commits
+     */
+    void claimChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump();
+            return;
+        }
+        // One bump per transaction, however many claims it touched
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ClaimChangeTracker.this);
+            }
+        });
+    }
+
+    private void bump() {
+        lastModified = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Weak ETag for any claim list: Smile, CBOR and JSON renderings share it, and Tomcat
+     * only compresses responses whose ETag is weak
+     */
+    public String getETag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    /**
+     * True if an If-None-Match header value names the current collection version
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = getETag().substring(2);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Weak ETag for a single claim, from its id and last update time
+     */
+    public static String eTagFor(Claim claim) {
+        return "W/\"" + claim.getId() + "-" + lastModifiedOf(claim) + "\"";
+    }
+
+    public static long lastModifiedOf(Claim claim) {
+        return claim.getLastUpdated() != null
+            ? claim.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : -1;
+    }
+}
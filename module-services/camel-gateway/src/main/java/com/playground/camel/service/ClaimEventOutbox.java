@@ -0,0 +1,139 @@
+package com.playground.camel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.playground.camel.events.ClaimEvent;
+import com.playground.camel.events.ClaimEventBroadcaster;
+import com.playground.camel.model.ClaimHistory;
+import com.playground.camel.model.ClaimOutboxEvent;
+import com.playground.camel.repository.ClaimOutboxRepository;
+import com.playground.camel.transformers.JsonCodecs;
+import org.apache.camel.ProducerTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for claim events.
+ *
+ * {@link #record} writes the event in the caller's transaction, so an event
+ * exists if and only if the claim change it describes was committed. The
+ * claim-outbox-dispatcher route then calls {@link #dispatchPending} to publish
+ * committed events, in order, to the Camel claim event endpoint and, once the
+ * dispatch commits, to SSE subscribers. Delivery is at-least-once.
+ */
+@Service("claimEventOutbox")
+public class ClaimEventOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimEventOutbox.class);
+
+    @Autowired
+    private ClaimOutboxRepository claimOutboxRepository;
+
+    @Autowired
+    private ClaimEventBroadcaster claimEventBroadcaster;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private JsonCodecs jsonCodecs;
+
+    @Value("${claim.outbox.endpoint}")
+    private String eventEndpoint;
+
+    @Value("${claim.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${claim.outbox.retention-hours:24}")
+    private int retentionHours;
+
+    /**
+     * Write an event to the outbox as part of the current claim transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ClaimEvent event) {
+        // Notes carry client text and exception messages; keep them to what claim history stores
+        if (event.getNotes() != null && event.getNotes().length() > ClaimHistory.MAX_NOTE_LENGTH) {
+            event.setNotes(event.getNotes().substring(0, ClaimHistory.MAX_NOTE_LENGTH));
+        }
+        try {
+            claimOutboxRepository.save(new ClaimOutboxEvent(event.getEventType(), event.getClaimReferenceId(),
+                jsonCodecs.getClaimEventWriter().writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize claim event " + event.getEventType(), e);
+        }
+    }
+
+    /**
+     * Publish the oldest undispatched events and mark them dispatched.
+     * Stops at the first delivery failure so ordering is preserved; the rest is retried on the next poll.
+     */
+    @Transactional
+    public synchronized int dispatchPending() {
+        List<ClaimOutboxEvent> pending = claimOutboxRepository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> dispatchedIds = new ArrayList<>(pending.size());
+        List<ClaimEvent> dispatchedEvents = new ArrayList<>(pending.size());
+        for (ClaimOutboxEvent outboxEvent : pending) {
+            ClaimEvent event;
+            try {
+                event = jsonCodecs.getClaimEventReader().readValue(outboxEvent.getPayload());
+            } catch (JsonProcessingException e) {
+                // An unreadable payload would block the outbox forever; skip it
+                logger.error("Skipping unreadable outbox event {}: {}", outboxEvent.getId(), e.getMessage());
+                dispatchedIds.add(outboxEvent.getId());
+                continue;
+            }
+            
+            try {
+                producerTemplate.sendBody(eventEndpoint, event);
+            } catch (Exception e) {
+                logger.warn("Outbox dispatch stopped at event {} ({}): {}", outboxEvent.getId(), outboxEvent.getEventType(), e.getMessage());
+                break;
+            }
+            dispatchedEvents.add(event);
+            dispatchedIds.add(outboxEvent.getId());
+        }
+        
+        if (!dispatchedIds.isEmpty()) {
+            claimOutboxRepository.markDispatched(dispatchedIds, LocalDateTime.now());
+            logger.debug("Dispatched {} claim events", dispatchedIds.size());
+        }
+        // SSE subscribers only hear about events once they are marked dispatched for good
+        if (!dispatchedEvents.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatchedEvents.forEach(claimEventBroadcaster::broadcast);
+                }
+            });
+        }
+        return dispatchedIds.size();
+    }
+
+    /**
+     * Delete dispatched events older than the retention window
+     */
+    @Transactional
+    public int purgeDispatched() {
+        int deleted = claimOutboxRepository.deleteDispatchedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.info("Purged {} dispatched claim events", deleted);
+        }
+        return deleted;
+    }
+}
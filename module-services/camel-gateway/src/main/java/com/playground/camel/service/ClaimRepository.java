@@ -1,14 +1,22 @@
 package com.playground.camel.repository;
 
 import com.playground.camel.model.Claim;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
@@ -69,6 +77,9 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     @Query("SELECT c.sourceSystem, COUNT(c) FROM Claim c GROUP BY c.sourceSystem")
     List<Object[]> getClaimCountsBySourceSystem();
     
+    @Query("SELECT c.workflowStage, COUNT(c) FROM Claim c GROUP BY c.workflowStage")
+    List<Object[]> getClaimCountsByWorkflowStage();
+    
     // Performance queries for high-volume scenarios
     @Query(value = "SELECT * FROM claims WHERE status_code = ?1 ORDER BY received_timestamp ASC LIMIT ?2", nativeQuery = true)
     List<Claim> findTopClaimsByStatusOrderByReceivedTimestamp(String statusCode, int limit);
@@ -76,7 +87,51 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     // Check if claim exists (efficient existence check)
     boolean existsByClaimReferenceId(String claimReferenceId);
     
+    // Resolve the primary key without loading the claim
+    @Query("SELECT c.id FROM Claim c WHERE c.claimReferenceId = :claimReferenceId")
+    Optional<Long> findIdByClaimReferenceId(@Param("claimReferenceId") String claimReferenceId);
+    
+    // Multi-key existence check for bulk ingestion (one query per batch)
+    @Query("SELECT c.claimReferenceId FROM Claim c WHERE c.claimReferenceId IN :claimReferenceIds")
+    List<String> findExistingClaimReferenceIds(@Param("claimReferenceIds") Collection<String> claimReferenceIds);
+    
     // Find claims for specific processing windows
     @Query("SELECT c FROM Claim c WHERE c.statusCode IN :statusCodes AND c.lastUpdated >= :since ORDER BY c.receivedTimestamp ASC")
     List<Claim> findClaimsForProcessing(@Param("statusCodes") List<String> statusCodes, @Param("since") LocalDateTime since);
-}
\ No newline at end of file
+    
+    // Keyset pagination - first page ordered by (receivedTimestamp, id), optional filters
+    @Query("SELECT c FROM Claim c WHERE (:statusCode IS NULL OR c.statusCode = :statusCode) " +
+           "AND (:workflowStage IS NULL OR c.workflowStage = :workflowStage) " +
+           "AND (:sourceSystem IS NULL OR c.sourceSystem = :sourceSystem) " +
+           "ORDER BY c.receivedTimestamp ASC, c.id ASC")
+    List<Claim> findFirstPage(@Param("statusCode") String statusCode,
+                              @Param("workflowStage") String workflowStage,
+                              @Param("sourceSystem") String sourceSystem,
+                              Pageable pageable);
+    
+    // Keyset pagination - next page strictly after the (receivedTimestamp, id) cursor
+    @Query("SELECT c FROM Claim c WHERE (:statusCode IS NULL OR c.statusCode = :statusCode) " +
+           "AND (:workflowStage IS NULL OR c.workflowStage = :workflowStage) " +
+           "AND (:sourceSystem IS NULL OR c.sourceSystem = :sourceSystem) " +
+           "AND (c.receivedTimestamp > :afterTimestamp OR (c.receivedTimestamp = :afterTimestamp AND c.id > :afterId)) " +
+           "ORDER BY c.receivedTimestamp ASC, c.id ASC")
+    List<Claim> findPageAfter(@Param("statusCode") String statusCode,
+                              @Param("workflowStage") String workflowStage,
+                              @Param("sourceSystem") String sourceSystem,
+                              @Param("afterTimestamp") LocalDateTime afterTimestamp,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+    
+    // Streaming export - rows are fetched from the cursor in chunks instead of materialized as a list
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Claim c WHERE (:statusCode IS NULL OR c.statusCode = :statusCode) " +
+           "AND (:workflowStage IS NULL OR c.workflowStage = :workflowStage) " +
+           "AND (:sourceSystem IS NULL OR c.sourceSystem = :sourceSystem) " +
+           "ORDER BY c.receivedTimestamp ASC, c.id ASC")
+    Stream<Claim> streamClaims(@Param("statusCode") String statusCode,
+                               @Param("workflowStage") String workflowStage,
+                               @Param("sourceSystem") String sourceSystem);
+}
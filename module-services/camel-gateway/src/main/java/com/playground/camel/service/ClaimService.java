@@ -1,8 +1,18 @@
 package com.playground.camel.service;
 
+import com.playground.camel.events.ClaimEvent;
 import com.playground.camel.model.Claim;
+import com.playground.camel.model.ClaimBatchItem;
+import com.playground.camel.model.ClaimHistory;
+import com.playground.camel.model.ClaimHistoryPage;
+import com.playground.camel.model.ClaimPage;
+import com.playground.camel.model.ClaimSubmissionResult;
+import com.playground.camel.repository.ClaimHistoryRepository;
 import com.playground.camel.repository.ClaimRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -10,8 +20,14 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -19,20 +35,180 @@ public class ClaimService {
 
     private static final Logger logger = LoggerFactory.getLogger(ClaimService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
     @Autowired
     private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimHistoryRepository claimHistoryRepository;
+
+    @Autowired
+    private ClaimStatisticsService claimStatisticsService;
+
+    @Autowired
+    private ClaimEventOutbox claimEventOutbox;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     /**
      * Create a new claim in the gateway database
      */
     public Claim createClaim(Claim claim) {
-        logger.info("Creating new claim with reference ID: {}", claim.getClaimReferenceId());
+        logger.debug("Creating new claim with reference ID: {}", claim.getClaimReferenceId());
         
         // Ensure the claim doesn't already exist
         if (claimRepository.existsByClaimReferenceId(claim.getClaimReferenceId())) {
             throw new IllegalArgumentException("Claim with reference ID " + claim.getClaimReferenceId() + " already exists");
         }
         
+        // Run the initial workflow transition before the first persist: one INSERT, no re-read or UPDATE
+        initializeNewClaim(claim);
+        
+        Claim savedClaim = saveClaim(claim);
+        logger.debug("Successfully created claim with ID: {} (Reference: {}) at {}/{}", savedClaim.getId(),
+            savedClaim.getClaimReferenceId(), savedClaim.getStatusCode(), savedClaim.getWorkflowStage());
+        
+        return savedClaim;
+    }
+
+    /**
+     * Create a batch of claims with one existence check and batched inserts.
+     * Items that fail validation are reported individually; the rest of the batch is still stored.
+     */
+    public List<ClaimSubmissionResult> createClaims(List<ClaimBatchItem> batch) {
+        logger.info("Creating batch of {} claims", batch.size());
+        
+        // One multi-key lookup instead of an existence check per claim
+        Set<String> referenceIds = new HashSet<>();
+        for (ClaimBatchItem item : batch) {
+            if (item.isPending() && item.getClaim().getClaimReferenceId() != null) {
+                referenceIds.add(item.getClaim().getClaimReferenceId());
+            }
+        }
+        Set<String> seenReferenceIds = referenceIds.isEmpty() ? new HashSet<>()
+            : new HashSet<>(claimRepository.findExistingClaimReferenceIds(referenceIds));
+        
+        List<ClaimBatchItem> accepted = new ArrayList<>();
+        for (ClaimBatchItem item : batch) {
+            if (!item.isPending()) {
+                continue;
+            }
+            Claim claim = item.getClaim();
+            String validationError = validateNewClaim(claim);
+            if (validationError != null) {
+                item.fail(validationError);
+            } else if (!seenReferenceIds.add(claim.getClaimReferenceId())) {
+                item.fail("Claim with reference ID " + claim.getClaimReferenceId() + " already exists");
+            } else {
+                try {
+                    initializeNewClaim(claim);
+                    accepted.add(item);
+                } catch (IllegalStateException e) {
+                    item.fail(e.getMessage());
+                }
+            }
+        }
+        
+        List<Claim> claims = new ArrayList<>(accepted.size());
+        for (ClaimBatchItem item : accepted) {
+            claims.add(item.getClaim());
+        }
+        claimRepository.saveAll(claims);
+        List<ClaimHistory> history = new ArrayList<>();
+        for (Claim claim : claims) {
+            history.addAll(claim.drainPendingHistory());
+        }
+        claimHistoryRepository.saveAll(history);
+        
+        // Flush inside the transaction so constraint violations reject this batch rather than surfacing on commit
+        claimRepository.flush();
+        
+        List<ClaimSubmissionResult> results = new ArrayList<>(batch.size());
+        for (ClaimBatchItem item : batch) {
+            if (item.getResult() == null) {
+                item.succeed();
+            }
+            results.add(item.getResult());
+        }
+        logger.info("Created {} of {} claims in batch", accepted.size(), batch.size());
+        return results;
+    }
+
+    /**
+     * Report every unfinished claim in a batch as failed (used when the batch insert itself fails)
+     */
+    @Transactional(readOnly = true)
+    public List<ClaimSubmissionResult> rejectClaims(List<ClaimBatchItem> batch, String errorMessage) {
+        logger.error("Rejecting batch of {} claims: {}", batch.size(), errorMessage);
+        
+        List<ClaimSubmissionResult> results = new ArrayList<>(batch.size());
+        for (ClaimBatchItem item : batch) {
+            if (item.getResult() == null || item.getResult().isSuccess()) {
+                item.fail("Failed to store claim: " + errorMessage);
+            }
+            results.add(item.getResult());
+        }
+        return results;
+    }
+
+    /**
+     * Prepare a claim that has not been persisted yet, run its initial workflow transition in memory
+     * and record the creation (counters and outbox events) in the current transaction
+     */
+    private void initializeNewClaim(Claim claim) {
+        prepareNewClaim(claim);
+        
+        String initialStatus = claim.getStatusCode();
+        String initialStage = claim.getWorkflowStage();
+        applyWorkflowAdvance(claim, "system");
+        
+        claimStatisticsService.recordCreated(claim);
+        ClaimEvent received = ClaimEvent.claimReceived(claim.getClaimReferenceId(), claim.getSourceSystem());
+        received.setNewStatus(initialStatus);
+        received.setNewWorkflowStage(initialStage);
+        claimEventOutbox.record(received);
+        publishTransitionEvents(claim, initialStatus, initialStage, "system", null);
+    }
+
+    /**
+     * Save a claim, then insert the history entries it queued; history is never cascaded through the claim
+     */
+    private Claim saveClaim(Claim claim) {
+        Claim savedClaim = claimRepository.save(claim);
+        claimHistoryRepository.saveAll(claim.drainPendingHistory());
+        return savedClaim;
+    }
+
+    /**
+     * Update live counters and write outbox events for a status/stage change, in the current transaction
+     */
+    private void recordTransition(Claim claim, String previousStatus, String previousStage, String updatedBy, String notes) {
+        claimStatisticsService.recordTransition(previousStatus, claim.getStatusCode(), previousStage, claim.getWorkflowStage());
+        publishTransitionEvents(claim, previousStatus, previousStage, updatedBy, notes);
+    }
+
+    private void publishTransitionEvents(Claim claim, String previousStatus, String previousStage, String updatedBy, String notes) {
+        if (!Objects.equals(previousStatus, claim.getStatusCode())) {
+            ClaimEvent event = ClaimEvent.statusChanged(claim.getClaimReferenceId(), previousStatus,
+                claim.getStatusCode(), updatedBy, claim.getSourceSystem());
+            event.setNotes(notes);
+            claimEventOutbox.record(event);
+        }
+        if (!Objects.equals(previousStage, claim.getWorkflowStage())) {
+            ClaimEvent event = ClaimEvent.workflowAdvanced(claim.getClaimReferenceId(), previousStage,
+                claim.getWorkflowStage(), updatedBy, claim.getSourceSystem());
+            event.setNotes(notes);
+            claimEventOutbox.record(event);
+        }
+    }
+
+    /**
+     * Set initial status, workflow stage and receipt note on a claim that has not been persisted yet
+     */
+    private void prepareNewClaim(Claim claim) {
         // Set initial status and workflow stage if not already set
         if (claim.getStatusCode() == null) {
             claim.updateStatus(Claim.Status.RECEIVED, "Received", "system");
@@ -42,24 +218,32 @@ public class ClaimService {
         }
         
         claim.addProcessingNote("Claim received from " + claim.getSourceSystem());
-        
-	Claim savedClaim = claimRepository.save(claim);
-	logger.info("Successfully created claim with ID: {} (Reference: {})", savedClaim.getId(), savedClaim.getClaimReferenceId());
-	savedClaim = advanceClaimWorkflow(savedClaim.getClaimReferenceId(), "system");
+    }
 
-	return savedClaim;
+    private String validateNewClaim(Claim claim) {
+        if (claim.getClaimReferenceId() == null || claim.getClaimReferenceId().isBlank()) {
+            return "Missing required field: claimId";
+        }
+        if (claim.getFirstName() == null) {
+            return "Missing required field: firstName";
+        }
+        if (claim.getLastName() == null) {
+            return "Missing required field: lastName";
+        }
+        return null;
     }
 
     /**
      * Update claim status with payment information parsing
      */
     public Claim updateClaimStatus(String claimReferenceId, String statusCode, String statusDisplayName, String updatedBy, String notes) {
-        logger.info("Updating claim {} status to: {}", claimReferenceId, statusCode);
+        logger.debug("Updating claim {} status to: {}", claimReferenceId, statusCode);
         
         Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
         
         String previousStatus = claim.getStatusCode();
+        String previousStage = claim.getWorkflowStage();
         claim.updateStatus(statusCode, statusDisplayName, updatedBy);
         
         // Parse payment information from notes if this is a payment update
@@ -73,8 +257,9 @@ public class ClaimService {
             claim.addProcessingNote("Status changed from " + previousStatus + " to " + statusCode);
         }
         
-        Claim updatedClaim = claimRepository.save(claim);     
-        logger.info("Successfully updated claim {} status to: {}", claimReferenceId, statusCode);
+        Claim updatedClaim = saveClaim(claim);
+        recordTransition(updatedClaim, previousStatus, previousStage, updatedBy, notes);
+        logger.debug("Successfully updated claim {} status to: {}", claimReferenceId, statusCode);
         return updatedClaim;
     }
 
@@ -94,7 +279,7 @@ public class ClaimService {
             if (wbaMatcher.find()) {
                 BigDecimal wba = new BigDecimal(wbaMatcher.group(1));
                 claim.setWeeklyBenefitAmount(wba);
-                logger.info("Extracted WBA: ${} for claim {}", wba, claim.getClaimReferenceId());
+                logger.debug("Extracted WBA: ${} for claim {}", wba, claim.getClaimReferenceId());
             }
             
             // Extract Max Benefit
@@ -104,13 +289,13 @@ public class ClaimService {
             if (maxMatcher.find()) {
                 BigDecimal maxBenefit = new BigDecimal(maxMatcher.group(1));
                 claim.setMaximumBenefitAmount(maxBenefit);
-                logger.info("Extracted Max Benefit: ${} for claim {}", maxBenefit, claim.getClaimReferenceId());
+                logger.debug("Extracted Max Benefit: ${} for claim {}", maxBenefit, claim.getClaimReferenceId());
             }
             
             // ADD THIS LINE HERE:
             claim.updateWorkflowStage(Claim.WorkflowStage.COMPLETED, "paymentservices");
             
-            logger.info("Successfully parsed and stored payment amounts for claim {}", claim.getClaimReferenceId());
+            logger.debug("Successfully parsed and stored payment amounts for claim {}", claim.getClaimReferenceId());
         }
     } catch (Exception e) {
         logger.error("Failed to parse payment amounts from notes for claim {}: {}", claim.getClaimReferenceId(), e.getMessage());
@@ -122,7 +307,7 @@ public class ClaimService {
      * Update workflow stage
      */
     public Claim updateWorkflowStage(String claimReferenceId, String workflowStage, String updatedBy, String notes) {
-        logger.info("Updating claim {} workflow stage to: {}", claimReferenceId, workflowStage);
+        logger.debug("Updating claim {} workflow stage to: {}", claimReferenceId, workflowStage);
         
         Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
@@ -136,8 +321,9 @@ public class ClaimService {
             claim.addProcessingNote("Workflow stage changed from " + previousStage + " to " + workflowStage);
         }
         
-        Claim updatedClaim = claimRepository.save(claim);
-        logger.info("Successfully updated claim {} workflow stage to: {}", claimReferenceId, workflowStage);
+        Claim updatedClaim = saveClaim(claim);
+        recordTransition(updatedClaim, updatedClaim.getStatusCode(), previousStage, updatedBy, notes);
+        logger.debug("Successfully updated claim {} workflow stage to: {}", claimReferenceId, workflowStage);
         
         return updatedClaim;
     }
@@ -152,12 +338,70 @@ public class ClaimService {
 
     /**
      * Get all claims
+     *
+     * @deprecated loads the whole table into memory; use {@link #getClaimPage} or {@link #streamClaims}
      */
+    @Deprecated
     @Transactional(readOnly = true)
     public List<Claim> getAllClaims() {
         return claimRepository.findAll();
     }
 
+    /**
+     * Get one keyset-paginated page of claims, optionally filtered
+     */
+    @Transactional(readOnly = true)
+    public ClaimPage getClaimPage(String statusCode, String workflowStage, String sourceSystem, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row so we know whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Claim> claims;
+        if (cursor == null || cursor.isBlank()) {
+            claims = claimRepository.findFirstPage(statusCode, workflowStage, sourceSystem, limit);
+        } else {
+            ClaimPage.Cursor after = ClaimPage.decodeCursor(cursor);
+            claims = claimRepository.findPageAfter(statusCode, workflowStage, sourceSystem,
+                after.receivedTimestamp(), after.id(), limit);
+        }
+        
+        boolean hasMore = claims.size() > pageSize;
+        return new ClaimPage(hasMore ? claims.subList(0, pageSize) : claims, hasMore);
+    }
+
+    /**
+     * Stream claims to a consumer one at a time, optionally filtered.
+     * Each entity is detached once consumed so the persistence context stays flat.
+     */
+    @Transactional(readOnly = true)
+    public long streamClaims(String statusCode, String workflowStage, String sourceSystem, Consumer<Claim> consumer) {
+        long count = 0;
+        try (Stream<Claim> claims = claimRepository.streamClaims(statusCode, workflowStage, sourceSystem)) {
+            for (Claim claim : (Iterable<Claim>) claims::iterator) {
+                consumer.accept(claim);
+                entityManager.detach(claim);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get one page of a claim's processing history, oldest first
+     */
+    @Transactional(readOnly = true)
+    public ClaimHistoryPage getClaimHistory(String claimReferenceId, Long afterId, int size) {
+        Long claimId = claimRepository.findIdByClaimReferenceId(claimReferenceId)
+            .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
+        
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ClaimHistory> entries = claimHistoryRepository.findPageAfter(claimId, afterId != null ? afterId : 0L,
+            PageRequest.of(0, pageSize + 1));
+        
+        boolean hasMore = entries.size() > pageSize;
+        return new ClaimHistoryPage(claimReferenceId, hasMore ? entries.subList(0, pageSize) : entries, hasMore);
+    }
+
     /**
      * Get claims by status
      */
@@ -223,6 +467,7 @@ public class ClaimService {
         Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
         
+        String previousStatus = claim.getStatusCode();
         claim.recordError(errorMessage);
         claim.setUpdatedBy(updatedBy);
         claim.addProcessingNote("Error recorded: " + errorMessage);
@@ -233,12 +478,45 @@ public class ClaimService {
             claim.addProcessingNote("Claim marked as error due to multiple processing failures");
         }
         
-        Claim updatedClaim = claimRepository.save(claim);
+        Claim updatedClaim = saveClaim(claim);
+        recordTransition(updatedClaim, previousStatus, updatedClaim.getWorkflowStage(), updatedBy, errorMessage);
         logger.error("Error recorded for claim {}, total error count: {}", claimReferenceId, updatedClaim.getErrorCount());
         
         return updatedClaim;
     }
 
+    /**
+     * Record a tax calculation result and move the claim on to payment processing
+     */
+    public Claim recordTaxCalculation(String claimReferenceId, BigDecimal stateTaxAmount, BigDecimal federalTaxAmount,
+                                      BigDecimal totalTaxAmount, String taxNote, String calculatedBy) {
+        logger.debug("Recording tax calculation for claim {}", claimReferenceId);
+        
+        Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
+            .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
+        
+        if (!Claim.Status.AWAITING_TAX_CALC.equals(claim.getStatusCode())) {
+            throw new IllegalStateException("Claim not ready for tax calculation. Current status: " + claim.getStatusCode());
+        }
+        
+        String previousStatus = claim.getStatusCode();
+        String previousStage = claim.getWorkflowStage();
+        
+        claim.setStateTaxAmount(stateTaxAmount);
+        claim.setFederalTaxAmount(federalTaxAmount);
+        claim.setTotalTaxAmount(totalTaxAmount);
+        claim.setTaxCalculationDate(LocalDateTime.now());
+        
+        claim.setUpdatedBy(calculatedBy);
+        claim.addProcessingNote(taxNote);
+        claim.updateStatus("AWAITING_PAYMENT", "Tax Calculation Complete - Awaiting Payment Processing", calculatedBy);
+        claim.updateWorkflowStage(Claim.WorkflowStage.FINAL_REVIEW, calculatedBy);
+        
+        Claim updatedClaim = saveClaim(claim);
+        recordTransition(updatedClaim, previousStatus, previousStage, calculatedBy, taxNote);
+        return updatedClaim;
+    }
+
     /**
      * Add processing note to a claim
      */
@@ -248,10 +526,10 @@ public class ClaimService {
         Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
         
-        claim.addProcessingNote(note);
         claim.setUpdatedBy(updatedBy);
+        claim.addProcessingNote(note);
         
-        return claimRepository.save(claim);
+        return saveClaim(claim);
     }
 
     /**
@@ -299,7 +577,7 @@ public class ClaimService {
      * Advance claim to next workflow stage based on current status
      */
     public Claim advanceClaimWorkflow(String claimReferenceId, String updatedBy) {
-        logger.info("Advancing workflow for claim: {}", claimReferenceId);
+        logger.debug("Advancing workflow for claim: {}", claimReferenceId);
         
         Claim claim = claimRepository.findByClaimReferenceId(claimReferenceId)
             .orElseThrow(() -> new IllegalArgumentException("Claim not found: " + claimReferenceId));
@@ -307,6 +585,24 @@ public class ClaimService {
         String currentStatus = claim.getStatusCode();
         String currentStage = claim.getWorkflowStage();
         
+        applyWorkflowAdvance(claim, updatedBy);
+        
+	Claim updatedClaim = saveClaim(claim);
+	recordTransition(updatedClaim, currentStatus, currentStage, updatedBy, null);
+	logger.debug("Successfully advanced workflow for claim {} from {}/{} to {}/{}", 
+	    claimReferenceId, currentStatus, currentStage, 
+	    updatedClaim.getStatusCode(), updatedClaim.getWorkflowStage());
+	    
+	return updatedClaim;
+    }
+
+    /**
+     * Move an in-memory claim to the next workflow stage based on its current status
+     */
+    private void applyWorkflowAdvance(Claim claim, String updatedBy) {
+        String currentStatus = claim.getStatusCode();
+        String currentStage = claim.getWorkflowStage();
+        
         // Define workflow progression
         switch (currentStatus) {
             case Claim.Status.RECEIVED:
@@ -334,15 +630,8 @@ public class ClaimService {
                 
             default:
                 logger.warn("Cannot advance workflow for claim {} in status {} and stage {}", 
-                    claimReferenceId, currentStatus, currentStage);
+                    claim.getClaimReferenceId(), currentStatus, currentStage);
                 throw new IllegalStateException("Cannot advance workflow from current status: " + currentStatus);
         }
-        
-	Claim updatedClaim = claimRepository.save(claim);
-	logger.info("Successfully advanced workflow for claim {} from {}/{} to {}/{}", 
-	    claimReferenceId, currentStatus, currentStage, 
-	    updatedClaim.getStatusCode(), updatedClaim.getWorkflowStage());
-	    
-	return updatedClaim;
     }
 }
@@ -0,0 +1,172 @@
+package com.playground.camel.service;
+
+import com.playground.camel.model.Claim;
+import com.playground.camel.repository.ClaimRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live claim counters by status, source system and workflow stage.
+ *
+ * Counters are adjusted after each committed claim change and periodically
+ * reconciled against the database (see the claim-stats-reconciler route), so
+ * dashboard and stats reads never scan the claims table.
+ */
+@Service("claimStatisticsService")
+public class ClaimStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimStatisticsService.class);
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    private final LongAdder totalClaims = new LongAdder();
+    private volatile Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> sourceCounts = new ConcurrentHashMap<>();
+    private volatile Map<String, LongAdder> workflowStageCounts = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastReconciled;
+
+    @PostConstruct
+    public void init() {
+        reconcile();
+    }
+
+    /**
+     * Count a newly created claim once its transaction commits
+     */
+    public void recordCreated(Claim claim) {
+        String status = claim.getStatusCode();
+        String source = claim.getSourceSystem();
+        String stage = claim.getWorkflowStage();
+        afterCommit(() -> {
+            totalClaims.increment();
+            increment(statusCounts, status);
+            increment(sourceCounts, source);
+            increment(workflowStageCounts, stage);
+        });
+    }
+
+    /**
+     * Move a claim between status and workflow stage buckets once its transaction commits
+     */
+    public void recordTransition(String previousStatus, String newStatus, String previousStage, String newStage) {
+        if (same(previousStatus, newStatus) && same(previousStage, newStage)) {
+            return;
+        }
+        afterCommit(() -> {
+            if (!same(previousStatus, newStatus)) {
+                decrement(statusCounts, previousStatus);
+                increment(statusCounts, newStatus);
+            }
+            if (!same(previousStage, newStage)) {
+                decrement(workflowStageCounts, previousStage);
+                increment(workflowStageCounts, newStage);
+            }
+        });
+    }
+
+    /**
+     * Rebuild all counters from the database. Changes committed while the
+     * GROUP BY queries run may be off by one until the next reconciliation.
+     */
+    public synchronized void reconcile() {
+        Map<String, LongAdder> statuses = toCounters(claimRepository.getClaimCountsByStatus());
+        Map<String, LongAdder> sources = toCounters(claimRepository.getClaimCountsBySourceSystem());
+        Map<String, LongAdder> stages = toCounters(claimRepository.getClaimCountsByWorkflowStage());
+
+        long total = statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        long drift = total - totalClaims.sum();
+
+        statusCounts = statuses;
+        sourceCounts = sources;
+        workflowStageCounts = stages;
+        totalClaims.reset();
+        totalClaims.add(total);
+        lastReconciled = LocalDateTime.now();
+
+        if (drift != 0) {
+            logger.info("Reconciled claim statistics: {} claims (drift {})", total, drift);
+        } else {
+            logger.debug("Reconciled claim statistics: {} claims", total);
+        }
+    }
+
+    public long getTotalClaims() {
+        return totalClaims.sum();
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return snapshot(statusCounts);
+    }
+
+    public Map<String, Long> getSourceCounts() {
+        return snapshot(sourceCounts);
+    }
+
+    public Map<String, Long> getWorkflowStageCounts() {
+        return snapshot(workflowStageCounts);
+    }
+
+    public LocalDateTime getLastReconciled() {
+        return lastReconciled;
+    }
+
+    private static void increment(Map<String, LongAdder> counters, String key) {
+        counters.computeIfAbsent(key != null ? key : UNKNOWN, k -> new LongAdder()).increment();
+    }
+
+    private static void decrement(Map<String, LongAdder> counters, String key) {
+        counters.computeIfAbsent(key != null ? key : UNKNOWN, k -> new LongAdder()).decrement();
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static Map<String, LongAdder> toCounters(List<Object[]> rows) {
+        Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            LongAdder counter = new LongAdder();
+            counter.add((Long) row[1]);
+            counters.put(row[0] != null ? (String) row[0] : UNKNOWN, counter);
+        }
+        return counters;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long value = counter.sum();
+            if (value != 0) {
+                snapshot.put(key, value);
+            }
+        });
+        return snapshot;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
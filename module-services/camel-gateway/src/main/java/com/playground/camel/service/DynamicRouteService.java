@@ -1,10 +1,13 @@
 package com.playground.camel.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.playground.camel.model.InterfaceConfig;
+import com.playground.camel.monitoring.DownstreamCircuitBreakers;
+import com.playground.camel.transformers.JsonCodecs;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.rest.RestBindingMode;
 import org.apache.camel.model.RouteDefinition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -23,7 +26,20 @@ public class DynamicRouteService {
     @Autowired
     private InterfaceConfigService configService;
     
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private JsonCodecs jsonCodecs;
+    
+    @Autowired
+    private DownstreamCircuitBreakers downstreamCircuitBreakers;
+    
+    @Autowired
+    private GraphQLResponseCache graphqlResponseCache;
+    
+    @Autowired
+    private PersistedQueryRegistry persistedQueryRegistry;
+    
+    @Autowired
+    private GraphQLBatcher graphqlBatcher;
     
     // Keep track of active route IDs
     private final Map<Long, String> activeRoutes = new ConcurrentHashMap<>();
@@ -67,6 +83,13 @@ public class DynamicRouteService {
             try {
                 camelContext.getRouteController().stopRoute(routeId);
                 camelContext.removeRoute(routeId);
+                // REST and GraphQL interfaces also own a processor route, GraphQL ones an upstream route too
+                for (String helperRouteId : new String[] {routeId + "-processor", routeId + "-upstream"}) {
+                    if (camelContext.getRoute(helperRouteId) != null) {
+                        camelContext.getRouteController().stopRoute(helperRouteId);
+                        camelContext.removeRoute(helperRouteId);
+                    }
+                }
                 activeRoutes.remove(interfaceId);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to remove route: " + routeId, e);
@@ -117,7 +140,8 @@ public class DynamicRouteService {
                 // Add a processing route that logs and echoes the data
                 from("direct:processApiRequest")
                     .routeId(routeId + "-processor")
-                    .log("Received request on interface: " + config.getName())
+                    .routeGroup(config.getName())
+                    .log(LoggingLevel.DEBUG, "Received request on interface: " + config.getName())
                     .transform().simple("{ \"status\": \"success\", \"message\": \"Request received on interface: " + config.getName() + "\", \"endpoint\": \"" + config.getEndpoint() + "\" }");
             }
             
@@ -125,7 +149,8 @@ public class DynamicRouteService {
                 // Basic SOAP endpoint - in a real implementation we would use the template for more configuration
                 from("spring-ws:rootqname:{http://example.org/}request?endpointMapping=#wsEndpointMapping")
                     .routeId(routeId)
-                    .log("Received SOAP request on interface: " + config.getName())
+                    .routeGroup(config.getName())
+                    .log(LoggingLevel.DEBUG, "Received SOAP request on interface: " + config.getName())
                     .transform().simple("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">\n" +
                         "  <soap:Body>\n" +
                         "    <response xmlns=\"http://example.org/\">\n" +
@@ -143,6 +168,8 @@ public class DynamicRouteService {
                 // Get configuration values with defaults
                 String path = (String) templateConfig.getOrDefault("path", config.getEndpoint());
                 String targetUrl = (String) templateConfig.getOrDefault("targetUrl", "http://claimant-services:3000/graphql");
+                // Circuit breaker / bulkhead key: the downstream's registered serviceId when the template names it
+                String downstream = (String) templateConfig.getOrDefault("serviceId", config.getName());
     
                 // Log configuration
                 log.info("Configuring GraphQL route: {} with target: {}", routeId, targetUrl);
@@ -153,19 +180,56 @@ public class DynamicRouteService {
                     .post()
                     .consumes("application/json")
                     .produces("application/json")
+                    // Forwarded as JSON text, not bound to a Map
+                    .bindingMode(RestBindingMode.off)
                     .to("direct:" + routeId + "-processor");
     
                 // Define the processing route for GraphQL requests
                 from("direct:" + routeId + "-processor")
                     .routeId(routeId + "-processor")
-                    .log("Received GraphQL request on interface: " + config.getName())
+                    .routeGroup(config.getName())
+                    .log(LoggingLevel.DEBUG, "Received GraphQL request on interface: " + config.getName())
                     .removeHeaders("CamelHttp*") // Remove any existing HTTP headers
                     .setHeader(Exchange.HTTP_METHOD, constant("POST"))
                     .setHeader(Exchange.CONTENT_TYPE, constant("application/json"))
                     .setHeader("Accept", constant("application/json"))
-                    // Forward the request to the target GraphQL endpoint
-                    .toD(targetUrl)
-                    .log("GraphQL response received from " + targetUrl);
+                    .process(persistedQueryRegistry.resolve())
+                    .filter(exchangeProperty(PersistedQueryRegistry.RESPONDED))
+                        .stop()
+                    .end()
+                    .process(graphqlResponseCache.lookup(targetUrl))
+                    .filter(exchangeProperty(GraphQLResponseCache.CACHE_HIT))
+                        .log(LoggingLevel.DEBUG, "GraphQL response served from cache")
+                        .stop()
+                    .end()
+                    .choice()
+                        .when(method("graphqlBatcher", "isEnabled"))
+                            .process(graphqlBatcher.forward(targetUrl, "direct:" + routeId + "-upstream"))
+                        .otherwise()
+                            .to("direct:" + routeId + "-upstream")
+                    .end()
+                    .process(graphqlResponseCache.store());
+    
+                // One upstream request: a single operation or a batch from GraphQLBatcher
+                from("direct:" + routeId + "-upstream")
+                    .routeId(routeId + "-upstream")
+                    .routeGroup(config.getName())
+                    .circuitBreaker()
+                        .resilience4jConfiguration()
+                            .circuitBreaker(downstreamCircuitBreakers.circuitBreakerRef(downstream))
+                            .bulkheadEnabled(true)
+                            .bulkheadMaxConcurrentCalls(downstreamCircuitBreakers.getMaxConcurrentCalls(downstream))
+                            .bulkheadMaxWaitDuration(downstreamCircuitBreakers.getMaxWaitMs(downstream))
+                        .end()
+                        // Forward the request to the target GraphQL endpoint; the URL is fixed per interface,
+                        // so a static endpoint keeps one producer on the shared connection pool
+                        // 4xx answers to bad queries go back to the client as they are; only 5xx counts as a failure
+                        .to(targetUrl + (targetUrl.contains("?") ? "&" : "?") + "throwExceptionOnFailure=false")
+                        .process(downstreamCircuitBreakers.failOnServerError())
+                        .log(LoggingLevel.DEBUG, "GraphQL response received from " + targetUrl)
+                    .onFallback()
+                        .process(downstreamCircuitBreakers.fallback(downstream))
+                    .end();
             }
             
             private void configureGrpcRoute(InterfaceConfig config, String routeId) {
@@ -182,16 +246,16 @@ public class DynamicRouteService {
                 // Define the processing route for gRPC requests
                 from("direct:" + routeId + "-entry")
                     .routeId(routeId)
-                    .log("Received gRPC request on interface: " + config.getName())
+                    .routeGroup(config.getName())
+                    .log(LoggingLevel.DEBUG, "Received gRPC request on interface: " + config.getName())
                     // Forward the request to the target gRPC endpoint
                     .to(targetUrl)
-                    .log("gRPC response received");
+                    .log(LoggingLevel.DEBUG, "gRPC response received");
             }
             
-            @SuppressWarnings("unchecked")
             private Map<String, Object> parseTemplate(String template) {
                 try {
-                    return objectMapper.readValue(template, HashMap.class);
+                    return jsonCodecs.getMapReader().readValue(template);
                 } catch (Exception e) {
                     // Return empty map if template can't be parsed
                     return new HashMap<>();
@@ -0,0 +1,233 @@
+package com.playground.camel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.playground.camel.transformers.JsonCodecs;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combines single GraphQL operations bound for the same downstream within a short window into one
+ * batch request (a JSON array of operations), and hands each caller its own element of the array
+ * response.
+ *
+ * The first request of a window leads: it waits for the window to pass (or the batch to fill) and
+ * sends the batch on its own thread, so batching needs no extra threads. The downstream must accept
+ * array batches, which is why this is off unless graphql.batch.enabled is set.
+ */
+@Component("graphqlBatcher")
+public class GraphQLBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLBatcher.class);
+
+    private final ProducerTemplate producerTemplate;
+    private final JsonCodecs jsonCodecs;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxSize;
+    private final long timeoutMs;
+    private final DistributionSummary batchSizes;
+
+    // Batch currently collecting operations, per downstream and caller credentials
+    private final ConcurrentHashMap<String, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public GraphQLBatcher(ProducerTemplate producerTemplate, JsonCodecs jsonCodecs, MeterRegistry meterRegistry,
+                          @Value("${graphql.batch.enabled:false}") boolean enabled,
+                          @Value("${graphql.batch.window:5}") long windowMs,
+                          @Value("${graphql.batch.max-size:20}") int maxSize,
+                          @Value("${graphql.batch.timeout:15000}") long timeoutMs) {
+        this.producerTemplate = producerTemplate;
+        this.jsonCodecs = jsonCodecs;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxSize = maxSize;
+        this.timeoutMs = timeoutMs;
+        this.batchSizes = DistributionSummary.builder("gateway.graphql.batch.size")
+            .description("GraphQL operations per upstream request")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Send the exchange's GraphQL operation to upstreamUri as part of a batch. Requests that are
+     * not a single operation (already batched, unparsable) are sent on their own.
+     */
+    public Processor forward(String target, String upstreamUri) {
+        return exchange -> {
+            Message message = exchange.getMessage();
+            String request = message.getBody(String.class);
+            message.setBody(request);
+            if (!isSingleOperation(request)) {
+                producerTemplate.send(upstreamUri, exchange);
+                return;
+            }
+            String authorization = message.getHeader("Authorization", String.class);
+            // Operations from different callers are never mixed into one upstream request
+            String batchKey = authorization != null ? target + "\n" + authorization : target;
+
+            Batch batch;
+            CompletableFuture<Result> result;
+            while (true) {
+                batch = openBatches.computeIfAbsent(batchKey, key -> new Batch());
+                result = batch.add(request);
+                if (result != null) {
+                    break;
+                }
+                openBatches.remove(batchKey, batch);
+            }
+            if (result == batch.leader) {
+                try {
+                    batch.full.await(windowMs, TimeUnit.MILLISECONDS);
+                    openBatches.remove(batchKey, batch);
+                    send(batch, upstreamUri, authorization);
+                } finally {
+                    // Never leave followers waiting on a batch that was not sent (interrupted leader, unexpected error)
+                    openBatches.remove(batchKey, batch);
+                    batch.completeRemaining(new IllegalStateException("GraphQL batch for " + target + " was not sent"));
+                }
+            }
+            result.get(timeoutMs, TimeUnit.MILLISECONDS).applyTo(exchange);
+        };
+    }
+
+    private boolean isSingleOperation(String request) {
+        if (request == null || request.isBlank()) {
+            return false;
+        }
+        try {
+            return jsonCodecs.getTreeReader().readTree(request).isObject();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void send(Batch batch, String upstreamUri, String authorization) {
+        batch.close();
+        List<String> requests = batch.requests;
+        List<CompletableFuture<Result>> results = batch.results;
+        batchSizes.record(requests.size());
+        try {
+            Exchange response = producerTemplate.send(upstreamUri, upstream -> {
+                Message message = upstream.getMessage();
+                message.setHeader(Exchange.HTTP_METHOD, "POST");
+                message.setHeader(Exchange.CONTENT_TYPE, "application/json");
+                message.setHeader("Accept", "application/json");
+                if (authorization != null) {
+                    message.setHeader("Authorization", authorization);
+                }
+                message.setBody(requests.size() == 1 ? requests.get(0) : "[" + String.join(",", requests) + "]");
+            });
+            if (response.getException() != null) {
+                results.forEach(result -> result.complete(Result.failed(response.getException())));
+                return;
+            }
+            Message message = response.getMessage();
+            int status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, 200, Integer.class);
+            String retryAfter = message.getHeader("Retry-After", String.class);
+            byte[] body = message.getBody(byte[].class);
+            JsonNode parsed = requests.size() > 1 && body != null ? jsonCodecs.getTreeReader().readTree(body) : null;
+            if (parsed != null && parsed.isArray() && parsed.size() == requests.size()) {
+                for (int i = 0; i < requests.size(); i++) {
+                    byte[] element = jsonCodecs.getObjectMapper().writeValueAsBytes(parsed.get(i));
+                    results.get(i).complete(new Result(status, element, retryAfter, null));
+                }
+            } else {
+                // Single operation, or a response that covers the whole batch (fallback, gateway error)
+                if (requests.size() > 1) {
+                    logger.debug("📦 GraphQL batch of {} answered with a single response (HTTP {})", requests.size(), status);
+                }
+                results.forEach(result -> result.complete(new Result(status, body, retryAfter, null)));
+            }
+        } catch (Exception e) {
+            results.forEach(result -> result.complete(Result.failed(e)));
+        }
+    }
+
+    private final class Batch {
+        final List<String> requests = new ArrayList<>();
+        final List<CompletableFuture<Result>> results = new ArrayList<>();
+        final CountDownLatch full = new CountDownLatch(1);
+        // Result of the first operation; its caller sends the batch
+        CompletableFuture<Result> leader;
+        private boolean closed;
+
+        /**
+         * Add an operation, returning the future its result completes, or null if the batch is no longer collecting
+         */
+        synchronized CompletableFuture<Result> add(String request) {
+            if (closed) {
+                return null;
+            }
+            CompletableFuture<Result> result = new CompletableFuture<>();
+            requests.add(request);
+            results.add(result);
+            if (leader == null) {
+                leader = result;
+            }
+            if (requests.size() >= maxSize) {
+                closed = true;
+                full.countDown();
+            }
+            return result;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+
+        synchronized void completeRemaining(Exception error) {
+            closed = true;
+            results.forEach(result -> result.complete(Result.failed(error)));
+        }
+    }
+
+    private static final class Result {
+        final int status;
+        final byte[] body;
+        final String retryAfter;
+        final Exception error;
+
+        Result(int status, byte[] body, String retryAfter, Exception error) {
+            this.status = status;
+            this.body = body;
+            this.retryAfter = retryAfter;
+            this.error = error;
+        }
+
+        static Result failed(Exception error) {
+            return new Result(0, null, null, error);
+        }
+
+        void applyTo(Exchange exchange) {
+            if (error != null) {
+                exchange.setException(error);
+                return;
+            }
+            Message message = exchange.getMessage();
+            message.setHeader(Exchange.HTTP_RESPONSE_CODE, status);
+            message.setHeader(Exchange.CONTENT_TYPE, "application/json");
+            if (retryAfter != null) {
+                message.setHeader("Retry-After", retryAfter);
+            }
+            message.setBody(body != null ? body : new byte[0]);
+        }
+    }
+}
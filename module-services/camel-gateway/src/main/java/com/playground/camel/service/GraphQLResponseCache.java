@@ -0,0 +1,323 @@
+package com.playground.camel.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playground.camel.transformers.JsonCodecs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway-side cache for proxied GraphQL queries.
+ *
+ * Entries are keyed on the target, operation name, normalized query text and canonical
+ * variables. Mutations and subscriptions are never cached, nor are responses that carry errors.
+ * Size-bounded (Caffeine's W-TinyLFU, weighed in bytes) with a TTL, and dropped whenever a claim
+ * changes: each entry remembers the claim collection version it was fetched under.
+ */
+@Component("graphqlResponseCache")
+public class GraphQLResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLResponseCache.class);
+
+    // Exchange properties carried from lookup to store
+    private static final String CACHE_KEY = "GraphQLCacheKey";
+    private static final String CACHE_VERSION = "GraphQLCacheVersion";
+    public static final String CACHE_HIT = "GraphQLCacheHit";
+
+    private final JsonCodecs jsonCodecs;
+    private final ClaimChangeTracker claimChangeTracker;
+    private final boolean enabled;
+    private final Cache<String, CachedResponse> cache;
+    private final Counter bypassed;
+    private final AtomicLong cachedVersion = new AtomicLong();
+
+    public GraphQLResponseCache(JsonCodecs jsonCodecs, ClaimChangeTracker claimChangeTracker, MeterRegistry meterRegistry,
+                                @Value("${graphql.cache.enabled:true}") boolean enabled,
+                                @Value("${graphql.cache.ttl:30000}") long ttlMs,
+                                @Value("${graphql.cache.max-bytes:33554432}") long maxBytes) {
+        this.jsonCodecs = jsonCodecs;
+        this.claimChangeTracker = claimChangeTracker;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, CachedResponse response) -> key.length() + response.body.length)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=graphql.responses
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "graphql.responses");
+        this.bypassed = Counter.builder("gateway.graphql.cache.bypass")
+            .description("GraphQL requests not eligible for caching (mutations, subscriptions, unparsable)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Serve a cached response for a read-only query; on a hit the exchange gets the response body
+     * and the CACHE_HIT property, and the route should stop
+     */
+    public Processor lookup(String target) {
+        return exchange -> {
+            if (!enabled) {
+                return;
+            }
+            Message message = exchange.getMessage();
+            String request = message.getBody(String.class);
+            message.setBody(request);
+            String key = cacheKey(target, request);
+            if (key == null) {
+                bypassed.increment();
+                return;
+            }
+            long version = currentVersion();
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null && cached.version == version) {
+                message.setHeader(Exchange.HTTP_RESPONSE_CODE, 200);
+                message.setHeader(Exchange.CONTENT_TYPE, "application/json");
+                message.setHeader("X-Gateway-Cache", "HIT");
+                message.setBody(cached.body);
+                exchange.setProperty(CACHE_HIT, true);
+                return;
+            }
+            exchange.setProperty(CACHE_KEY, key);
+            exchange.setProperty(CACHE_VERSION, version);
+        };
+    }
+
+    /**
+     * Keep a successful downstream response for a query that missed in lookup()
+     */
+    public Processor store() {
+        return exchange -> {
+            String key = exchange.getProperty(CACHE_KEY, String.class);
+            if (key == null) {
+                return;
+            }
+            Message message = exchange.getMessage();
+            byte[] body = message.getBody(byte[].class);
+            message.setBody(body);
+            message.setHeader("X-Gateway-Cache", "MISS");
+            Integer status = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+            if (body == null || (status != null && status != 200) || hasErrors(body)) {
+                return;
+            }
+            cache.put(key, new CachedResponse(body, exchange.getProperty(CACHE_VERSION, Long.class)));
+        };
+    }
+
+    /**
+     * Current claim collection version; the first caller to see it advance clears the cache,
+     * since every entry is stale from then on
+     */
+    private long currentVersion() {
+        long version = claimChangeTracker.getVersion();
+        long previous = cachedVersion.get();
+        if (version != previous && cachedVersion.compareAndSet(previous, version)) {
+            cache.invalidateAll();
+            logger.debug("🗑️ GraphQL cache cleared after claim changes (version {})", version);
+        }
+        return version;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cache key for a GraphQL request body, or null if it must not be cached
+     */
+    String cacheKey(String target, String request) {
+        if (request == null || request.isBlank()) {
+            return null;
+        }
+        JsonNode body;
+        try {
+            body = jsonCodecs.getTreeReader().readTree(request);
+        } catch (IOException e) {
+            return null;
+        }
+        JsonNode query = body.get("query");
+        if (query == null || !query.isTextual()) {
+            // Persisted-query hashes and other shapes are not cached
+            return null;
+        }
+        NormalizedQuery normalized = NormalizedQuery.of(query.asText());
+        if (!normalized.readOnly) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(target).append('\n');
+        JsonNode operationName = body.get("operationName");
+        if (operationName != null && operationName.isTextual()) {
+            key.append(operationName.asText());
+        }
+        key.append('\n').append(normalized.text).append('\n');
+        JsonNode variables = body.get("variables");
+        if (variables != null && !variables.isNull()) {
+            appendCanonical(variables, key);
+        }
+        return key.toString();
+    }
+
+    /**
+     * JSON with object fields sorted, so {"a":1,"b":2} and {"b":2,"a":1} share a key
+     */
+    private static void appendCanonical(JsonNode node, StringBuilder out) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            names.sort(null);
+            out.append('{');
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append('"').append(names.get(i)).append("\":");
+                appendCanonical(node.get(names.get(i)), out);
+            }
+            out.append('}');
+        } else if (node.isArray()) {
+            out.append('[');
+            Iterator<JsonNode> elements = node.elements();
+            while (elements.hasNext()) {
+                appendCanonical(elements.next(), out);
+                if (elements.hasNext()) {
+                    out.append(',');
+                }
+            }
+            out.append(']');
+        } else {
+            out.append(node.toString());
+        }
+    }
+
+    /**
+     * True if a GraphQL response has a non-null top-level "errors" member; other members are skipped unread
+     */
+    private boolean hasErrors(byte[] response) {
+        try (JsonParser parser = jsonCodecs.getTreeReader().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return true;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(field) && value != JsonToken.VALUE_NULL) {
+                    return true;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static final class CachedResponse {
+        final byte[] body;
+        final long version;
+
+        CachedResponse(byte[] body, long version) {
+            this.body = body;
+            this.version = version;
+        }
+    }
+
+    /**
+     * GraphQL document with comments, commas and insignificant whitespace removed, plus whether
+     * it defines only queries. String literals are kept as written.
+     */
+    static final class NormalizedQuery {
+        final String text;
+        final boolean readOnly;
+
+        private NormalizedQuery(String text, boolean readOnly) {
+            this.text = text;
+            this.readOnly = readOnly;
+        }
+
+        static NormalizedQuery of(String query) {
+            StringBuilder out = new StringBuilder(query.length());
+            boolean readOnly = true;
+            int depth = 0;
+            int i = 0;
+            int n = query.length();
+            while (i < n) {
+                char c = query.charAt(i);
+                if (c == '#') {
+                    while (i < n && query.charAt(i) != '\n' && query.charAt(i) != '\r') {
+                        i++;
+                    }
+                } else if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == ',' || c == '\uFEFF') {
+                    i++;
+                } else if (c == '"') {
+                    int end = query.startsWith("\"\"\"", i) ? blockStringEnd(query, i) : stringEnd(query, i);
+                    out.append(query, i, end);
+                    i = end;
+                } else if (isNameChar(c)) {
+                    int start = i;
+                    while (i < n && isNameChar(query.charAt(i))) {
+                        i++;
+                    }
+                    String word = query.substring(start, i);
+                    if (depth == 0 && (word.equals("mutation") || word.equals("subscription"))) {
+                        readOnly = false;
+                    }
+                    if (out.length() > 0 && isNameChar(out.charAt(out.length() - 1))) {
+                        out.append(' ');
+                    }
+                    out.append(word);
+                } else {
+                    if (c == '{') {
+                        depth++;
+                    } else if (c == '}') {
+                        depth--;
+                    }
+                    out.append(c);
+                    i++;
+                }
+            }
+            return new NormalizedQuery(out.toString(), readOnly);
+        }
+
+        private static boolean isNameChar(char c) {
+            return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        }
+
+        private static int stringEnd(String query, int start) {
+            int i = start + 1;
+            while (i < query.length()) {
+                char c = query.charAt(i);
+                if (c == '\\') {
+                    i += 2;
+                } else if (c == '"') {
+                    return i + 1;
+                } else {
+                    i++;
+                }
+            }
+            return query.length();
+        }
+
+        private static int blockStringEnd(String query, int start) {
+            int end = query.indexOf("\"\"\"", start + 3);
+            return end < 0 ? query.length() : end + 3;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.playground.camel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playground.camel.transformers.JsonCodecs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.Processor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Persisted GraphQL queries (Apollo automatic persisted query protocol).
+ *
+ * A client sends {"extensions":{"persistedQuery":{"version":1,"sha256Hash":"..."}}} without the
+ * query text. Unknown hashes are answered with PERSISTED_QUERY_NOT_FOUND, and the client retries once
+ * with both hash and query, which registers it. Downstreams always receive the full query text.
+ */
+@Component("persistedQueryRegistry")
+public class PersistedQueryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistedQueryRegistry.class);
+
+    // Set when the gateway has already written the response (unknown hash, hash mismatch)
+    public static final String RESPONDED = "GraphQLPersistedQueryResponded";
+
+    private static final String NOT_FOUND_RESPONSE =
+        "{\"errors\":[{\"message\":\"PersistedQueryNotFound\",\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}";
+    private static final String HASH_MISMATCH_RESPONSE =
+        "{\"errors\":[{\"message\":\"provided sha does not match query\",\"extensions\":{\"code\":\"BAD_USER_INPUT\"}}]}";
+
+    private final JsonCodecs jsonCodecs;
+    private final Cache<String, String> queries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter registrations;
+
+    public PersistedQueryRegistry(JsonCodecs jsonCodecs, MeterRegistry meterRegistry,
+                                  @Value("${graphql.persisted-queries.max-entries:10000}") long maxEntries) {
+        this.jsonCodecs = jsonCodecs;
+        this.queries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .build();
+        this.hits = persistedQueryCounter(meterRegistry, "hit");
+        this.misses = persistedQueryCounter(meterRegistry, "miss");
+        this.registrations = persistedQueryCounter(meterRegistry, "registered");
+    }
+
+    private static Counter persistedQueryCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.graphql.persisted.queries")
+            .description("Persisted GraphQL query lookups by outcome")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Replace a persisted-query hash in the request body with the registered query text,
+     * registering new hash/query pairs on the way
+     */
+    public Processor resolve() {
+        return exchange -> {
+            Message message = exchange.getMessage();
+            String request = message.getBody(String.class);
+            message.setBody(request);
+            JsonNode body = readRequest(request);
+            JsonNode persistedQuery = body != null ? body.path("extensions").path("persistedQuery") : null;
+            if (persistedQuery == null || !persistedQuery.path("sha256Hash").isTextual()) {
+                return;
+            }
+            String hash = persistedQuery.get("sha256Hash").asText();
+            JsonNode query = body.get("query");
+
+            if (query != null && query.isTextual()) {
+                if (!hash.equalsIgnoreCase(sha256(query.asText()))) {
+                    respond(exchange, 400, HASH_MISMATCH_RESPONSE);
+                    return;
+                }
+                if (queries.asMap().putIfAbsent(hash.toLowerCase(), query.asText()) == null) {
+                    registrations.increment();
+                    logger.debug("📌 Registered persisted GraphQL query {}", hash);
+                }
+            } else {
+                String registered = queries.getIfPresent(hash.toLowerCase());
+                if (registered == null) {
+                    misses.increment();
+                    respond(exchange, 200, NOT_FOUND_RESPONSE);
+                    return;
+                }
+                hits.increment();
+                ((ObjectNode) body).put("query", registered);
+            }
+
+            // Downstreams get a plain query request
+            ObjectNode extensions = (ObjectNode) body.get("extensions");
+            extensions.remove("persistedQuery");
+            if (extensions.isEmpty()) {
+                ((ObjectNode) body).remove("extensions");
+            }
+            message.setBody(jsonCodecs.getObjectMapper().writeValueAsString(body));
+        };
+    }
+
+    private JsonNode readRequest(String request) {
+        if (request == null || request.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode body = jsonCodecs.getTreeReader().readTree(request);
+            return body.isObject() ? body : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void respond(Exchange exchange, int status, String body) {
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, status);
+        exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, "application/json");
+        exchange.getMessage().setBody(body);
+        exchange.setProperty(RESPONDED, true);
+    }
+
+    static String sha256(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,26 +1,87 @@
 package com.playground.camel.service;
 
 import com.playground.camel.model.ServiceRegistration;
+import com.playground.camel.monitoring.DashboardEventPublisher;
+import com.playground.camel.monitoring.HierarchicalTimingWheel;
 import com.playground.camel.repository.ServiceRegistrationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Service
+/**
+ * Service registry.
+ *
+ * The in-memory map is authoritative for liveness: heartbeats only touch the
+ * map and mark the service dirty, and the heartbeat-flusher route writes dirty
+ * heartbeat timestamps and statuses to the database in one JDBC batch.
+ * Registrations and removals are still written through immediately.
+ *
+ * Each service's heartbeat deadline is kept in a hierarchical timing wheel, so
+ * the stale-service sweep only touches services that actually expired.
+ */
+@Service("serviceRegistrationService")
 public class ServiceRegistrationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ServiceRegistrationService.class);
+
+    private static final String FLUSH_HEARTBEATS_SQL =
+        "UPDATE service_registrations SET last_heartbeat = ?, status = ?, last_message = ?, last_updated = ? WHERE service_id = ?";
+
     @Autowired
     private ServiceRegistrationRepository repository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DashboardEventPublisher dashboardEventPublisher;
+
+    @Value("${registry.heartbeat.timeout:120000}")
+    private long heartbeatTimeoutMs;
+
+    private final Map<String, ServiceRegistration> registry = new ConcurrentHashMap<>();
+    private final Set<String> dirtyServiceIds = ConcurrentHashMap.newKeySet();
+    // Bumped whenever a registration, its health state or its last heartbeat changes
+    private final AtomicLong statusVersion = new AtomicLong();
+    // 1s ticks, 64 buckets per level, 3 levels: deadlines up to ~3 days ahead without re-parking
+    private final HierarchicalTimingWheel<String> heartbeatDeadlines =
+        new HierarchicalTimingWheel<>(1000, 64, 3, System.currentTimeMillis());
+
+    @PostConstruct
+    public void loadRegistry() {
+        for (ServiceRegistration registration : repository.findAll()) {
+            registry.put(registration.getServiceId(), registration);
+            if (registration.isHealthy()) {
+                scheduleDeadline(registration);
+            }
+        }
+        logger.info("Loaded {} service registrations", registry.size());
+    }
+
     public ServiceRegistration registerService(String serviceId, String name, String technology, 
                                              String protocol, String endpoint, String healthEndpoint) {
         
         // Check if service already exists
         Optional<ServiceRegistration> existing = repository.findByServiceId(serviceId);
         
+        ServiceRegistration saved;
         if (existing.isPresent()) {
             // Update existing registration
             ServiceRegistration service = existing.get();
@@ -33,38 +94,112 @@ public class ServiceRegistrationService {
             service.setLastMessage("Service re-registered");
             service.updateHeartbeat();
             
-            return repository.save(service);
+            saved = repository.save(service);
         } else {
             // Create new registration
             ServiceRegistration newService = new ServiceRegistration(serviceId, name, technology, protocol, endpoint);
             newService.setHealthEndpoint(healthEndpoint);
             newService.setLastMessage("Service registered");
             
-            return repository.save(newService);
+            saved = repository.save(newService);
         }
+        
+        registry.put(serviceId, saved);
+        // The registration itself is persisted; drop any older pending heartbeat
+        dirtyServiceIds.remove(serviceId);
+        scheduleDeadline(saved);
+        statusVersion.incrementAndGet();
+        dashboardEventPublisher.recordServiceChange(saved);
+        return saved;
     }
 
+    /**
+     * Record a heartbeat in memory only; it is persisted by the next {@link #flushHeartbeats}.
+     * A heartbeat without a status counts as UP.
+     */
     public boolean updateHeartbeat(String serviceId, String status) {
-        Optional<ServiceRegistration> service = repository.findByServiceId(serviceId);
+        ServiceRegistration reg = serviceId != null ? registry.get(serviceId) : null;
+        if (reg == null) {
+            return false;
+        }
+        if (status == null) {
+            status = "UP";
+        }
         
-        if (service.isPresent()) {
-            ServiceRegistration reg = service.get();
+        boolean statusChanged;
+        synchronized (reg) {
+            statusChanged = !reg.getStatus().equals(status);
             reg.updateHeartbeat();
             reg.setStatus(status);
             reg.setLastMessage("Heartbeat received");
-            repository.save(reg);
-            return true;
         }
+        dirtyServiceIds.add(serviceId);
+        scheduleDeadline(reg);
+        // The status document shows the last heartbeat time
+        statusVersion.incrementAndGet();
         
-        return false;
+        if (statusChanged) {
+            dashboardEventPublisher.recordServiceChange(reg);
+        }
+        return true;
+    }
+
+    /**
+     * Write the heartbeat state of every service changed since the last flush in one JDBC batch;
+     * if the batch fails, the services stay dirty for the next flush
+     */
+    @PreDestroy
+    public int flushHeartbeats() {
+        if (dirtyServiceIds.isEmpty()) {
+            return 0;
+        }
+        
+        List<String> flushedIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        for (String serviceId : new ArrayList<>(dirtyServiceIds)) {
+            // Remove before reading so a heartbeat arriving during the flush marks it dirty again
+            dirtyServiceIds.remove(serviceId);
+            ServiceRegistration reg = registry.get(serviceId);
+            if (reg == null) {
+                continue;
+            }
+            synchronized (reg) {
+                batch.add(new Object[] {
+                    toTimestamp(reg.getLastHeartbeat()),
+                    reg.getStatus(),
+                    reg.getLastMessage(),
+                    toTimestamp(reg.getLastUpdated()),
+                    serviceId
+                });
+            }
+            flushedIds.add(serviceId);
+        }
+        
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_HEARTBEATS_SQL, batch);
+            } catch (DataAccessException e) {
+                dirtyServiceIds.addAll(flushedIds);
+                throw e;
+            }
+            logger.debug("Flushed heartbeats for {} services", batch.size());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Version of the registry's registrations, health states and heartbeat times, for caching derived views
+     */
+    public long getStatusVersion() {
+        return statusVersion.get();
     }
 
     public List<ServiceRegistration> getAllServices() {
-        return repository.findAll();
+        return new ArrayList<>(registry.values());
     }
 
     public Optional<ServiceRegistration> getService(String serviceId) {
-        return repository.findByServiceId(serviceId);
+        return Optional.ofNullable(registry.get(serviceId));
     }
 
     public boolean unregisterService(String serviceId) {
@@ -72,6 +207,10 @@ public class ServiceRegistrationService {
         
         if (service.isPresent()) {
             repository.delete(service.get());
+            registry.remove(serviceId);
+            dirtyServiceIds.remove(serviceId);
+            heartbeatDeadlines.cancel(serviceId);
+            statusVersion.incrementAndGet();
             return true;
         }
         
@@ -79,23 +218,58 @@ public class ServiceRegistrationService {
     }
 
     public List<ServiceRegistration> getActiveServices() {
-        return repository.findByStatus("UP");
+        return registry.values().stream().filter(ServiceRegistration::isHealthy).toList();
     }
 
     public long countActiveServices() {
-        return repository.countActiveServices();
+        return registry.values().stream().filter(ServiceRegistration::isHealthy).count();
     }
 
-    public void markStaleServicesAsDown() {
-        // Mark services as down if no heartbeat in last 2 minutes
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(2);
-        List<ServiceRegistration> staleServices = repository.findStaleServices(cutoffTime);
+    /**
+     * Mark services whose heartbeat deadline has passed as down, with one bulk UPDATE
+     *
+     * @return the IDs of the services that were marked down
+     */
+    public List<String> markStaleServicesAsDown() {
+        // Mark services as down if no heartbeat within the timeout
+        LocalDateTime cutoffTime = LocalDateTime.now().minusNanos(heartbeatTimeoutMs * 1_000_000);
+        List<String> expired = heartbeatDeadlines.advance(System.currentTimeMillis());
         
-        for (ServiceRegistration service : staleServices) {
-            if ("UP".equals(service.getStatus())) {
-                service.markAsDown("No heartbeat received");
-                repository.save(service);
+        List<ServiceRegistration> markedDown = new ArrayList<>();
+        for (String serviceId : expired) {
+            ServiceRegistration service = registry.get(serviceId);
+            if (service == null) {
+                continue;
+            }
+            synchronized (service) {
+                if (service.isHealthy() && !service.getLastHeartbeat().isAfter(cutoffTime)) {
+                    service.markAsDown("No heartbeat received");
+                    markedDown.add(service);
+                }
             }
         }
+        if (markedDown.isEmpty()) {
+            return List.of();
+        }
+        
+        List<String> serviceIds = markedDown.stream().map(ServiceRegistration::getServiceId).toList();
+        int updated = repository.markServicesDown(serviceIds, "No heartbeat received", LocalDateTime.now());
+        logger.info("Marked {} stale services as down ({} rows updated): {}", serviceIds.size(), updated, serviceIds);
+        
+        statusVersion.incrementAndGet();
+        for (ServiceRegistration service : markedDown) {
+            dashboardEventPublisher.recordServiceChange(service);
+        }
+        return serviceIds;
+    }
+
+    private void scheduleDeadline(ServiceRegistration registration) {
+        LocalDateTime lastHeartbeat = registration.getLastHeartbeat() != null ? registration.getLastHeartbeat() : LocalDateTime.now();
+        long lastHeartbeatMs = lastHeartbeat.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        heartbeatDeadlines.schedule(registration.getServiceId(), lastHeartbeatMs + heartbeatTimeoutMs);
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,42 @@
 package com.playground.camel.transformers;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.playground.camel.model.Claim;
+import com.playground.camel.model.ClaimBatchItem;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @Component
 public class DataTransformer {
 
     private static final Logger logger = LoggerFactory.getLogger(DataTransformer.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonCodecs jsonCodecs;
+
+    @Value("${claim.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    // "tree" goes through a JsonNode tree; "streaming" fills the same Claim straight from parser tokens
+    @Value("${claim.parser.mode:tree}")
+    private String claimParserMode;
+
+    public DataTransformer(JsonCodecs jsonCodecs) {
+        this.jsonCodecs = jsonCodecs;
+    }
 
     /**
      * Transform claim data from claimant-services format to standardized Claim entity
@@ -25,9 +45,20 @@ public class DataTransformer {
      * @return A standardized Claim entity ready for persistence
      */
     public Claim transformClaimantServicesClaim(String claimJson) throws Exception {
-        logger.info("Transforming claimant-services claim data to standardized format");
+        logger.debug("Transforming claimant-services claim data to standardized format");
+        
+        Claim claim = "streaming".equalsIgnoreCase(claimParserMode)
+            ? parseClaimantServicesClaim(claimJson)
+            : transformClaimantServicesClaim(jsonCodecs.getTreeReader().readTree(claimJson));
         
-        JsonNode claimNode = objectMapper.readTree(claimJson);
+        logger.debug("Successfully transformed claim {} from claimant-services format", claim.getClaimReferenceId());
+        return claim;
+    }
+
+    /**
+     * Transform an already-parsed claimant-services claim to a standardized Claim entity
+     */
+    public Claim transformClaimantServicesClaim(JsonNode claimNode) {
         Claim claim = new Claim();
         
         // Set source system
@@ -130,19 +161,181 @@ public class DataTransformer {
         claim.setCreatedBy("claimant-services");
         claim.addProcessingNote("Claim transformed from claimant-services format");
         
-        logger.info("Successfully transformed claim {} from claimant-services format", claim.getClaimReferenceId());
         return claim;
     }
 
+    /**
+     * Single-pass streaming equivalent of {@link #transformClaimantServicesClaim(JsonNode)}:
+     * the Claim is filled from parser tokens without building an intermediate JsonNode tree.
+     * Unknown fields are skipped; values are read as the tree path's asText() reads them.
+     */
+    public Claim parseClaimantServicesClaim(String claimJson) throws IOException {
+        try (JsonParser parser = jsonCodecs.getTreeReader().createParser(claimJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Claim must be a JSON object");
+            }
+            
+            Claim claim = new Claim();
+            claim.setSourceSystem("claimant-services");
+            
+            readObject(parser, (field, p) -> {
+                switch (field) {
+                    case "claimId" -> claim.setClaimReferenceId(textValue(p));
+                    case "userId" -> claim.setClaimantId(textValue(p));
+                    case "firstName" -> claim.setFirstName(textValue(p));
+                    case "lastName" -> claim.setLastName(textValue(p));
+                    case "ssn" -> claim.setSsn(textValue(p));
+                    case "dateOfBirth" -> claim.setBirthDate(parseDate(textValue(p)));
+                    case "email" -> claim.setEmailAddress(textValue(p));
+                    case "phone" -> claim.setPhoneNumber(textValue(p));
+                    case "address" -> readObject(p, (addressField, a) -> {
+                        switch (addressField) {
+                            case "street" -> claim.setStreetAddress(textValue(a));
+                            case "city" -> claim.setCity(textValue(a));
+                            case "state" -> claim.setState(textValue(a));
+                            case "zipCode" -> claim.setPostalCode(textValue(a));
+                            default -> a.skipChildren();
+                        }
+                    });
+                    case "employer" -> readObject(p, (employerField, e) -> {
+                        switch (employerField) {
+                            case "name" -> claim.setEmployerName(textValue(e));
+                            case "ein" -> claim.setEmployerId(textValue(e));
+                            default -> e.skipChildren();
+                        }
+                    });
+                    case "employmentDates" -> readObject(p, (dateField, d) -> {
+                        switch (dateField) {
+                            case "startDate" -> claim.setEmploymentStartDate(parseDate(textValue(d)));
+                            case "endDate" -> claim.setEmploymentEndDate(parseDate(textValue(d)));
+                            default -> d.skipChildren();
+                        }
+                    });
+                    case "separationReason" -> claim.setSeparationReasonCode(textValue(p));
+                    case "separationDetails" -> claim.setSeparationExplanation(textValue(p));
+                    case "wageData" -> readObject(p, (wageField, w) -> {
+                        switch (wageField) {
+                            case "lastQuarterEarnings" -> claim.setBasePeriodQ4(decimalValue(w));
+                            case "annualEarnings" -> claim.setTotalAnnualEarnings(decimalValue(w));
+                            default -> w.skipChildren();
+                        }
+                    });
+                    case "submissionTimestamp" -> claim.setSubmissionTimestamp(parseDateTime(textValue(p)));
+                    default -> p.skipChildren();
+                }
+            });
+            
+            // Set initial processing metadata
+            claim.setCreatedBy("claimant-services");
+            claim.addProcessingNote("Claim transformed from claimant-services format");
+            
+            return claim;
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldReader {
+        void read(String field, JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Feed each field of the object at the current token to the reader, positioned on its value.
+     * A value that is not an object is skipped, matching has() on a non-object node.
+     */
+    private static void readObject(JsonParser parser, FieldReader reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            reader.read(field, parser);
+        }
+    }
+
+    /**
+     * Value as text, the way JsonNode.asText() renders it: "null" for JSON null, "" for objects
+     * and arrays, numbers as their int/long/double value
+     */
+    private static String textValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT, START_ARRAY -> {
+                parser.skipChildren();
+                yield "";
+            }
+            case VALUE_NULL -> "null";
+            case VALUE_NUMBER_INT -> parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> Double.toString(parser.getDoubleValue());
+            default -> parser.getValueAsString();
+        };
+    }
+
+    private static BigDecimal decimalValue(JsonParser parser) throws IOException {
+        return new BigDecimal(textValue(parser));
+    }
+
+    /**
+     * Split a bulk submission (NDJSON or a JSON array of claims) into batches.
+     * Claims are parsed lazily, one batch at a time, as the splitter pulls them.
+     */
+    public Iterator<List<ClaimBatchItem>> splitClaimBatches(String body) throws Exception {
+        MappingIterator<JsonNode> claims = jsonCodecs.getTreeReader().readValues(body);
+        int batchSize = Math.max(1, bulkBatchSize);
+        
+        return new Iterator<>() {
+            private int index = 0;
+            
+            @Override
+            public boolean hasNext() {
+                return claims.hasNext();
+            }
+            
+            @Override
+            public List<ClaimBatchItem> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<ClaimBatchItem> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && claims.hasNext()) {
+                    batch.add(new ClaimBatchItem(index++, claims.next()));
+                }
+                return batch;
+            }
+        };
+    }
+
+    /**
+     * Transform every claim in a batch, recording a failure on the items that cannot be mapped
+     */
+    public List<ClaimBatchItem> transformClaimBatch(List<ClaimBatchItem> batch) {
+        for (ClaimBatchItem item : batch) {
+            try {
+                if (!item.getSource().isObject()) {
+                    item.fail("Claim must be a JSON object");
+                    continue;
+                }
+                item.setClaim(transformClaimantServicesClaim(item.getSource()));
+                // The parsed tree is no longer needed once the entity exists
+                item.setSource(null);
+            } catch (Exception e) {
+                logger.warn("Failed to transform claim at index {}: {}", item.getIndex(), e.getMessage());
+                item.fail("Failed to transform claim: " + e.getMessage());
+            }
+        }
+        logger.debug("Transformed batch of {} claims", batch.size());
+        return batch;
+    }
+
     /**
      * Transform a Claim entity back to claimant-services compatible format
      */
     public String transformClaimToClaimantServicesFormat(Claim claim) throws Exception {
-        logger.info("Transforming standardized claim {} to claimant-services format", claim.getClaimReferenceId());
+        logger.debug("Transforming standardized claim {} to claimant-services format", claim.getClaimReferenceId());
         
         // This method would be used if we need to send data back to claimant-services
         // For now, this is a placeholder - implement as needed
-        return objectMapper.writeValueAsString(claim);
+        return jsonCodecs.getClaimWriter().writeValueAsString(claim);
     }
 
     /**
@@ -190,7 +383,7 @@ public class DataTransformer {
     public String jsonToXml(String jsonData) throws Exception {
         // Legacy XML transformation code...
         // Keep existing implementation for other routes that might need it
-        logger.info("Legacy JSON to XML transformation called");
+        logger.debug("Legacy JSON to XML transformation called");
         return "<data>" + jsonData + "</data>"; // Simplified for now
     }
 
@@ -200,7 +393,7 @@ public class DataTransformer {
     public String xmlToJson(String xmlData) throws Exception {
         // Legacy JSON transformation code...
         // Keep existing implementation for other routes that might need it
-        logger.info("Legacy XML to JSON transformation called");
+        logger.debug("Legacy XML to JSON transformation called");
         return "{\"data\": \"" + xmlData + "\"}"; // Simplified for now
     }
 }
\ No newline at end of file
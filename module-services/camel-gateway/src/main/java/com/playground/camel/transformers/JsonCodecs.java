@@ -0,0 +1,152 @@
+package com.playground.camel.transformers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.playground.camel.events.ClaimEvent;
+import com.playground.camel.model.Claim;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Readers and writers for the gateway's JSON payloads, all built from the one shared ObjectMapper.
+ *
+ * ObjectReader/ObjectWriter are immutable and thread-safe; creating them once per type
+ * keeps serializer lookup out of the request path. Smile and CBOR mappers are copies of the
+ * shared one with a binary factory, so all three formats serialize claims identically.
+ */
+@Component("jsonCodecs")
+public class JsonCodecs {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    // Response formats in order of preference when the client accepts several equally
+    private static final List<MediaType> RESPONSE_FORMATS =
+        List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectReader treeReader;
+    // Registration, heartbeat and interface template payloads
+    private final ObjectReader mapReader;
+    private final ObjectWriter mapWriter;
+    private final ObjectReader claimReader;
+    private final ObjectWriter claimWriter;
+    private final ObjectWriter smileClaimWriter;
+    private final ObjectWriter cborClaimWriter;
+    private final ObjectWriter claimListWriter;
+    private final ObjectReader claimEventReader;
+    private final ObjectWriter claimEventWriter;
+
+    public JsonCodecs(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.treeReader = objectMapper.readerFor(JsonNode.class);
+        this.mapReader = objectMapper.readerFor(new TypeReference<Map<String, Object>>() { });
+        this.mapWriter = objectMapper.writerFor(new TypeReference<Map<String, Object>>() { });
+        this.claimReader = objectMapper.readerFor(Claim.class);
+        this.claimWriter = objectMapper.writerFor(Claim.class);
+        this.smileClaimWriter = smileMapper.writerFor(Claim.class);
+        this.cborClaimWriter = cborMapper.writerFor(Claim.class);
+        this.claimListWriter = objectMapper.writerFor(new TypeReference<List<Claim>>() { });
+        this.claimEventReader = objectMapper.readerFor(ClaimEvent.class);
+        this.claimEventWriter = objectMapper.writerFor(ClaimEvent.class);
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    public ObjectMapper getCborMapper() {
+        return cborMapper;
+    }
+
+    /**
+     * Pick the response format for an Accept header: JSON, Smile or CBOR, defaulting to compact JSON
+     */
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        // Stable sort, so equally weighted types keep the client's order
+        acceptable.sort((a, b) -> Double.compare(b.getQualityValue(), a.getQualityValue()));
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : RESPONSE_FORMATS) {
+                if (mediaType.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    public ObjectReader getTreeReader() {
+        return treeReader;
+    }
+
+    public ObjectReader getMapReader() {
+        return mapReader;
+    }
+
+    public ObjectWriter getMapWriter() {
+        return mapWriter;
+    }
+
+    public ObjectReader getClaimReader() {
+        return claimReader;
+    }
+
+    public ObjectWriter getClaimWriter() {
+        return claimWriter;
+    }
+
+    /**
+     * Claim writer for a format returned by negotiate()
+     */
+    public ObjectWriter getClaimWriter(MediaType format) {
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(format)) {
+            return smileClaimWriter;
+        }
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(format)) {
+            return cborClaimWriter;
+        }
+        return claimWriter;
+    }
+
+    public ObjectWriter getClaimListWriter() {
+        return claimListWriter;
+    }
+
+    public ObjectReader getClaimEventReader() {
+        return claimEventReader;
+    }
+
+    public ObjectWriter getClaimEventWriter() {
+        return claimEventWriter;
+    }
+}
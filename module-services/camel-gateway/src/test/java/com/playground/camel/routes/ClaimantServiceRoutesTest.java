@@ -0,0 +1,126 @@
+package com.playground.camel.routes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playground.camel.service.GraphQLResponseCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:claimant-service-routes-test")
+// Camel's servlet consumers are registered JVM-wide, so only one gateway context can be running,
+// and each test class gets its own database so interfaces from another class are not routed again
+@DirtiesContext
+class ClaimantServiceRoutesTest {
+
+    private static final StubGraphQLServer upstream = startUpstream();
+
+    @DynamicPropertySource
+    static void upstreamUrl(DynamicPropertyRegistry registry) {
+        registry.add("claimant.services.graphql-url", upstream::url);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private GraphQLResponseCache graphqlResponseCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void reset() {
+        upstream.requests().clear();
+        graphqlResponseCache.invalidateAll();
+    }
+
+    @Test
+    void queryIsForwardedAsJsonAndTheResponseComesBackAsJson() throws IOException {
+        ResponseEntity<String> response = post("{\"query\":\"{ claims { id } }\",\"variables\":{\"b\":2,\"a\":1}}");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("{ claims { id } }", objectMapper.readTree(response.getBody()).at("/data/query").asText());
+        JsonNode forwarded = objectMapper.readTree(upstream.requests().get(0));
+        assertEquals("{ claims { id } }", forwarded.get("query").asText());
+        assertEquals(1, forwarded.at("/variables/a").asInt());
+    }
+
+    @Test
+    void repeatedQueryIsServedFromTheCache() throws IOException {
+        ResponseEntity<String> first = post("{\"query\":\"{ claims { id } }\",\"variables\":{\"a\":1,\"b\":2}}");
+        // Same query with different whitespace and variable order
+        ResponseEntity<String> second = post("{\"query\":\"{claims{id}}\",\"variables\":{\"b\":2,\"a\":1}}");
+
+        assertEquals(1, upstream.requests().size());
+        assertEquals("MISS", first.getHeaders().getFirst("X-Gateway-Cache"));
+        assertEquals("HIT", second.getHeaders().getFirst("X-Gateway-Cache"));
+        assertEquals(objectMapper.readTree(first.getBody()), objectMapper.readTree(second.getBody()));
+    }
+
+    @Test
+    void mutationsAreNotCached() {
+        post("{\"query\":\"mutation { touch }\"}");
+        post("{\"query\":\"mutation { touch }\"}");
+
+        assertEquals(2, upstream.requests().size());
+    }
+
+    @Test
+    void persistedQueryMissRegistersAndThenHits() throws Exception {
+        String query = "{ claims { id status } }";
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8)));
+        String hashOnly = "{\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}}";
+
+        JsonNode miss = objectMapper.readTree(post(hashOnly).getBody());
+        assertEquals("PERSISTED_QUERY_NOT_FOUND", miss.at("/errors/0/extensions/code").asText());
+        assertTrue(upstream.requests().isEmpty());
+
+        String register = "{\"query\":\"" + query + "\",\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}}";
+        assertEquals(query, objectMapper.readTree(post(register).getBody()).at("/data/query").asText());
+        // Downstreams get a plain query request
+        assertEquals("{\"query\":\"" + query + "\"}", upstream.requests().get(0));
+
+        graphqlResponseCache.invalidateAll();
+        assertEquals(query, objectMapper.readTree(post(hashOnly).getBody()).at("/data/query").asText());
+        assertEquals(2, upstream.requests().size());
+        assertEquals(query, objectMapper.readTree(upstream.requests().get(1)).get("query").asText());
+    }
+
+    ResponseEntity<String> post(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/camel/claimant/graphql", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private static StubGraphQLServer startUpstream() {
+        try {
+            return new StubGraphQLServer();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the stub GraphQL server", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.playground.camel.routes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A long window and a batch size of two: the second request completes the batch
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:graphql-batching-test",
+    "graphql.batch.enabled=true",
+    "graphql.batch.window=10000",
+    "graphql.batch.max-size=2"
+})
+@DirtiesContext
+class GraphQLBatchingTest {
+
+    private static final StubGraphQLServer upstream = startUpstream();
+
+    @DynamicPropertySource
+    static void upstreamUrl(DynamicPropertyRegistry registry) {
+        registry.add("claimant.services.graphql-url", upstream::url);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void twoOperationsGoUpstreamAsOneBatch() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> post("{\"query\":\"{ claims { id } }\"}"));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> post("{\"query\":\"{ employers { id } }\"}"));
+
+        // Each caller gets its own element of the batch response
+        assertEquals("{ claims { id } }", objectMapper.readTree(first.get()).at("/data/query").asText());
+        assertEquals("{ employers { id } }", objectMapper.readTree(second.get()).at("/data/query").asText());
+
+        assertEquals(1, upstream.requests().size());
+        JsonNode batch = objectMapper.readTree(upstream.requests().get(0));
+        assertEquals(2, batch.size());
+    }
+
+    private String post(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForObject("/camel/claimant/graphql", new HttpEntity<>(body, headers), String.class);
+    }
+
+    private static StubGraphQLServer startUpstream() {
+        try {
+            return new StubGraphQLServer();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the stub GraphQL server", e);
+        }
+    }
+}
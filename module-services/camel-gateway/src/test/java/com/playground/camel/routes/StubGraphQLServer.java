@@ -0,0 +1,66 @@
+package com.playground.camel.routes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stand-in GraphQL downstream: records every request body and answers each operation with
+ * {"data":{"query":"<query text>"}}, or an array of those for a batch
+ */
+class StubGraphQLServer {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final HttpServer server;
+
+    StubGraphQLServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            byte[] request = exchange.getRequestBody().readAllBytes();
+            requests.add(new String(request));
+            byte[] response;
+            try {
+                response = objectMapper.writeValueAsBytes(answer(objectMapper.readTree(request)));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+            } catch (IOException e) {
+                response = "not JSON".getBytes();
+                exchange.sendResponseHeaders(400, response.length);
+            }
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    private JsonNode answer(JsonNode request) {
+        if (request.isArray()) {
+            ArrayNode answers = objectMapper.createArrayNode();
+            request.forEach(operation -> answers.add(answer(operation)));
+            return answers;
+        }
+        ObjectNode answer = objectMapper.createObjectNode();
+        answer.putObject("data").set("query", request.get("query"));
+        return answer;
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    List<String> requests() {
+        return requests;
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+}
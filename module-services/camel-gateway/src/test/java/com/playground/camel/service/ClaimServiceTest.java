@@ -0,0 +1,83 @@
+package com.playground.camel.service;
+
+import com.playground.camel.model.Claim;
+import com.playground.camel.model.ClaimHistory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:claim-service-test")
+// Camel's servlet consumers are registered JVM-wide, so only one gateway context can be running,
+// and each test class gets its own database so interfaces from another class are not routed again
+@DirtiesContext
+class ClaimServiceTest {
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Test
+    void notesAndWorkflowAdvancesOnAnExistingClaimAreRecordedInHistory() {
+        String referenceId = createClaim();
+
+        claimService.addProcessingNote(referenceId, "Called the claimant", "agent-1");
+        Claim advanced = claimService.advanceClaimWorkflow(referenceId, "agent-1");
+
+        assertEquals(Claim.Status.AWAITING_TAX_CALC, advanced.getStatusCode());
+        assertEquals("Workflow advanced: Ready for tax calculation", advanced.getProcessingNotes());
+        assertEquals(List.of(
+            "Claim received from claimant-services",
+            "Workflow advanced: Ready for employer verification",
+            "Called the claimant",
+            "Workflow advanced: Ready for tax calculation"), historyNotes(referenceId));
+    }
+
+    @Test
+    void statusUpdateOnAnExistingClaimIsRecordedInHistory() {
+        String referenceId = createClaim();
+
+        Claim updated = claimService.updateClaimStatus(referenceId, Claim.Status.DENIED, "Denied", "agent-1", "Not eligible");
+
+        assertEquals(Claim.Status.DENIED, updated.getStatusCode());
+        assertEquals("Status changed from AWAITING_EMPLOYER to DENIED: Not eligible",
+            historyNotes(referenceId).get(2));
+    }
+
+    @Test
+    void longNotesDoNotFailTheUpdate() {
+        String referenceId = createClaim();
+        String notes = "x".repeat(10_000);
+
+        Claim updated = claimService.updateClaimStatus(referenceId, Claim.Status.DENIED, "Denied", "agent-1", notes);
+
+        assertEquals(Claim.Status.DENIED, updated.getStatusCode());
+        assertEquals(ClaimHistory.MAX_NOTE_LENGTH, historyNotes(referenceId).get(2).length());
+    }
+
+    @Test
+    void missingNoteIsSkipped() {
+        String referenceId = createClaim();
+
+        claimService.addProcessingNote(referenceId, null, "agent-1");
+
+        assertEquals(2, historyNotes(referenceId).size());
+    }
+
+    private String createClaim() {
+        Claim claim = new Claim("CLM-" + UUID.randomUUID(), "claimant-services");
+        claim.setFirstName("Jordan");
+        claim.setLastName("Rivera");
+        return claimService.createClaim(claim).getClaimReferenceId();
+    }
+
+    private List<String> historyNotes(String referenceId) {
+        return claimService.getClaimHistory(referenceId, null, ClaimService.MAX_PAGE_SIZE).getEntries().stream()
+            .map(ClaimHistory::getNote)
+            .toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.playground.camel.service;
+
+import com.playground.camel.model.ServiceRegistration;
+import com.playground.camel.repository.ServiceRegistrationRepository;
+import org.apache.camel.CamelContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:service-registration-test")
+// Camel's servlet consumers are registered JVM-wide, so only one gateway context can be running,
+// and each test class gets its own database so interfaces from another class are not routed again
+@DirtiesContext
+class ServiceRegistrationServiceTest {
+
+    @Autowired
+    private ServiceRegistrationService serviceRegistrationService;
+
+    @Autowired
+    private ServiceRegistrationRepository repository;
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void stopScheduledFlush() throws Exception {
+        // The tests flush explicitly
+        camelContext.getRouteController().stopRoute("heartbeat-flusher");
+        serviceRegistrationService.flushHeartbeats();
+    }
+
+    @Test
+    void heartbeatWithoutStatusCountsAsUp() {
+        String serviceId = registerService();
+
+        assertTrue(serviceRegistrationService.updateHeartbeat(serviceId, null));
+        assertEquals(1, serviceRegistrationService.flushHeartbeats());
+
+        assertEquals("UP", serviceRegistrationService.getService(serviceId).orElseThrow().getStatus());
+        assertEquals("UP", repository.findByServiceId(serviceId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void failedFlushIsRetriedByTheNextFlush() {
+        String serviceId = registerService();
+        serviceRegistrationService.updateHeartbeat(serviceId, "DOWN");
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+            .doCallRealMethod()
+            .when(jdbcTemplate).batchUpdate(anyString(), anyList());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> serviceRegistrationService.flushHeartbeats());
+        assertEquals(1, serviceRegistrationService.flushHeartbeats());
+
+        assertEquals("DOWN", repository.findByServiceId(serviceId).orElseThrow().getStatus());
+    }
+
+    private String registerService() {
+        String serviceId = "test-" + UUID.randomUUID();
+        ServiceRegistration registration = serviceRegistrationService.registerService(
+            serviceId, "Test Service", "Java", "HTTP", "http://localhost:9999", null);
+        return registration.getServiceId();
+    }
+}
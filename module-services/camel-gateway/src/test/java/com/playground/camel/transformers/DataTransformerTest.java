@@ -0,0 +1,73 @@
+package com.playground.camel.transformers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.playground.camel.model.Claim;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The tree and streaming claim parsers (claim.parser.mode) must produce the same Claim
+ */
+class DataTransformerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final JsonCodecs jsonCodecs = new JsonCodecs(objectMapper);
+    private final DataTransformer dataTransformer = new DataTransformer(jsonCodecs);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // Complete claim
+        "{\"claimId\":\"CLM-2024-000123\",\"userId\":\"user-98765\",\"firstName\":\"Jordan\",\"lastName\":\"Rivera\","
+            + "\"ssn\":\"123-45-6789\",\"dateOfBirth\":\"1985-04-12\",\"email\":\"jordan.rivera@example.com\",\"phone\":\"555-0100\","
+            + "\"address\":{\"street\":\"100 Main St\",\"city\":\"Springfield\",\"state\":\"IL\",\"zipCode\":\"62701\"},"
+            + "\"employer\":{\"name\":\"Acme Manufacturing\",\"ein\":\"12-3456789\"},"
+            + "\"employmentDates\":{\"startDate\":\"2019-02-01\",\"endDate\":\"2024-01-15T08:00:00\"},"
+            + "\"separationReason\":\"LAYOFF\",\"separationDetails\":\"Position eliminated\","
+            + "\"wageData\":{\"lastQuarterEarnings\":\"12500.00\",\"annualEarnings\":\"52000.00\"},"
+            + "\"submissionTimestamp\":\"2024-01-20T14:32:10\",\"unknown\":{\"nested\":[1,2,3]}}",
+        // JSON nulls in text, date and nested fields
+        "{\"claimId\":\"CLM-1\",\"firstName\":null,\"lastName\":null,\"dateOfBirth\":null,\"email\":null,"
+            + "\"address\":null,\"employer\":{\"name\":null,\"ein\":null},\"submissionTimestamp\":null}",
+        // Numbers, booleans, objects and arrays where text is expected
+        "{\"claimId\":12345,\"userId\":-0,\"firstName\":true,\"lastName\":[\"Rivera\"],\"ssn\":{\"value\":\"1\"},"
+            + "\"phone\":5550100.0,\"address\":\"100 Main St\",\"employer\":[{\"name\":\"Acme\"}]}",
+        // Numeric wages in several notations
+        "{\"claimId\":\"CLM-2\",\"wageData\":{\"lastQuarterEarnings\":12500,\"annualEarnings\":5.2e4}}",
+        // Unparsable dates
+        "{\"claimId\":\"CLM-3\",\"dateOfBirth\":\"12/04/1985\",\"submissionTimestamp\":\"yesterday\"}"
+    })
+    void treeAndStreamingParsersProduceTheSameClaim(String payload) throws Exception {
+        Claim tree = dataTransformer.transformClaimantServicesClaim(jsonCodecs.getTreeReader().readTree(payload));
+        Claim streaming = dataTransformer.parseClaimantServicesClaim(payload);
+
+        assertEquals(comparable(tree), comparable(streaming));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"claimId\":\"CLM-4\",\"wageData\":{\"lastQuarterEarnings\":null}}",
+        "{\"claimId\":\"CLM-5\",\"wageData\":{\"annualEarnings\":\"n/a\"}}"
+    })
+    void bothParsersRejectWagesThatAreNotNumbers(String payload) {
+        assertThrows(NumberFormatException.class,
+            () -> dataTransformer.transformClaimantServicesClaim(jsonCodecs.getTreeReader().readTree(payload)));
+        assertThrows(NumberFormatException.class, () -> dataTransformer.parseClaimantServicesClaim(payload));
+    }
+
+    /**
+     * The claim as JSON, without the timestamps each new Claim takes from the clock
+     */
+    private ObjectNode comparable(Claim claim) {
+        ObjectNode json = objectMapper.valueToTree(claim);
+        json.remove("receivedTimestamp");
+        json.remove("lastUpdated");
+        return json;
+    }
+}
@@ -1,5 +1,6 @@
 const express = require('express');
 const { graphqlHTTP } = require('express-graphql');
+const { graphql, formatError } = require('graphql');
 const cors = require('cors');
 const mongoose = require('mongoose');
 const path = require('path');
@@ -34,6 +35,33 @@ app.use(cors());
 app.use(express.static(path.join(__dirname, 'public')));
 app.use(express.json());
 
+// Batched GraphQL requests (a JSON array of operations, sent by the gateway's batcher).
+// express-graphql only accepts single operations, so run each one here and answer in order
+app.post('/graphql', async (req, res, next) => {
+  if (!Array.isArray(req.body)) {
+    return next();
+  }
+  try {
+    const results = await Promise.all(req.body.map(async (operation) => {
+      if (!operation || typeof operation.query !== 'string') {
+        return { errors: [{ message: 'Must provide query string.' }] };
+      }
+      const result = await graphql({
+        schema: schema,
+        source: operation.query,
+        rootValue: resolvers,
+        contextValue: req,
+        variableValues: operation.variables,
+        operationName: operation.operationName,
+      });
+      return result.errors ? { ...result, errors: result.errors.map(formatError) } : result;
+    }));
+    res.json(results);
+  } catch (err) {
+    next(err);
+  }
+});
+
 // GraphQL endpoint
 app.use('/graphql', graphqlHTTP({
   schema: schema,